@@ -0,0 +1,247 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import edu.princeton.cs.algs4.In;
+
+/**
+ * Read-only undirected graph with compressed adjacency lists.
+ * The neighbours of each vertex are sorted and stored as varints: first the
+ * degree, then the first neighbour relative to the vertex itself (zigzag
+ * encoded, as it may be lower), then the gaps between successive neighbours.
+ * Most gaps fit in one or two bytes, against four for an int. The bytes live
+ * in a heap or a direct ByteBuffer; offsets[v] is where vertex v starts.
+ */
+public class CompressedGraph {
+
+    private final int V;
+    private final int E;
+    private final int[] offsets;
+    private final ByteBuffer data;
+
+    public CompressedGraph(Graph graph,boolean direct){
+        this.V=graph.V();
+        this.E=graph.E();
+        this.offsets=new int[V+1];
+        int[] scratch=new int[16];
+        long size=0;
+        for (int v = 0; v < V; v++) {
+            scratch=sortedNeighbors(graph,v,scratch);
+            offsets[v]=(int)size;
+            size+=encodedSize(v,scratch,0,graph.adj[v].size());
+            if (size>Integer.MAX_VALUE) throw new IllegalArgumentException("graph needs more than 2GB of adjacency data");
+        }
+        offsets[V]=(int)size;
+        this.data=allocate(offsets[V],direct);
+        for (int v = 0; v < V; v++) {
+            scratch=sortedNeighbors(graph,v,scratch);
+            encode(v,scratch,0,graph.adj[v].size(),offsets[v]);
+        }
+    }
+
+    private CompressedGraph(int V,int E,int[] start,int[] neighbors,boolean direct){
+        this.V=V;
+        this.E=E;
+        this.offsets=new int[V+1];
+        long size=0;
+        for (int v = 0; v < V; v++) {
+            Arrays.sort(neighbors,start[v],start[v+1]);
+            offsets[v]=(int)size;
+            size+=encodedSize(v,neighbors,start[v],start[v+1]);
+            if (size>Integer.MAX_VALUE) throw new IllegalArgumentException("graph needs more than 2GB of adjacency data");
+        }
+        offsets[V]=(int)size;
+        this.data=allocate(offsets[V],direct);
+        for (int v = 0; v < V; v++) encode(v,neighbors,start[v],start[v+1],offsets[v]);
+    }
+
+    /**
+     * Graph on V vertices with an undirected edge between from[i] and to[i]
+     * for each i, built without going through Graph.
+     */
+    public static CompressedGraph fromEdges(int V,int[] from,int[] to,boolean direct){
+        if (from.length!=to.length) throw new IllegalArgumentException("edge arrays differ in length");
+        int[] start=new int[V+1];
+        for (int i = 0; i < from.length; i++) {
+            validate(from[i],V);
+            validate(to[i],V);
+            start[from[i]+1]++;
+            start[to[i]+1]++;
+        }
+        for (int v = 0; v < V; v++) start[v+1]+=start[v];
+        int[] next=Arrays.copyOf(start,V);
+        int[] neighbors=new int[start[V]];
+        for (int i = 0; i < from.length; i++) {
+            neighbors[next[from[i]]++]=to[i];
+            neighbors[next[to[i]]++]=from[i];
+        }
+        return new CompressedGraph(V,from.length,start,neighbors,direct);
+    }
+
+    // reads the same format as Graph(In)
+    public static CompressedGraph read(In in,boolean direct){
+        int V=in.readInt();
+        int E=in.readInt();
+        int[] from=new int[E];
+        int[] to=new int[E];
+        for (int i = 0; i < E; i++) {
+            from[i]=in.readInt();
+            to[i]=in.readInt();
+        }
+        return fromEdges(V,from,to,direct);
+    }
+
+    private static void validate(int v,int V){
+        if (v<0||v>=V) throw new IllegalArgumentException("vertex "+v+" is not between 0 and "+(V-1));
+    }
+
+    private static ByteBuffer allocate(int size,boolean direct){
+        return direct?ByteBuffer.allocateDirect(size):ByteBuffer.allocate(size);
+    }
+
+    private static int[] sortedNeighbors(Graph graph,int v,int[] scratch){
+        int degree=graph.adj[v].size();
+        if (degree>scratch.length) scratch=new int[Math.max(degree,scratch.length*2)];
+        int i=0;
+        for (int w:graph.adj[v]) scratch[i++]=w;
+        Arrays.sort(scratch,0,degree);
+        return scratch;
+    }
+
+    private static int encodedSize(int v,int[] neighbors,int from,int to){
+        int size=varintSize(to-from);
+        int previous=v;
+        for (int i = from; i < to; i++) {
+            size+=varintSize(i==from?zigzag(neighbors[i]-v):neighbors[i]-previous);
+            previous=neighbors[i];
+        }
+        return size;
+    }
+
+    private void encode(int v,int[] neighbors,int from,int to,int pos){
+        pos=putVarint(pos,to-from);
+        int previous=v;
+        for (int i = from; i < to; i++) {
+            pos=putVarint(pos,i==from?zigzag(neighbors[i]-v):neighbors[i]-previous);
+            previous=neighbors[i];
+        }
+    }
+
+    private static int zigzag(int n){return (n<<1)^(n>>31);}
+    private static int unzigzag(int n){return (n>>>1)^-(n&1);}
+
+    private static int varintSize(int n){
+        int size=1;
+        while ((n&~0x7f)!=0){
+            n>>>=7;
+            size++;
+        }
+        return size;
+    }
+
+    private int putVarint(int pos,int n){
+        while ((n&~0x7f)!=0){
+            data.put(pos++,(byte)((n&0x7f)|0x80));
+            n>>>=7;
+        }
+        data.put(pos++,(byte)n);
+        return pos;
+    }
+
+    public int V(){return V;}
+    public int E(){return E;}
+
+    // bytes used by the encoded adjacency lists, offsets excluded
+    public int sizeInBytes(){return offsets[V];}
+
+    public int degree(int v){
+        validate(v,V);
+        int pos=offsets[v];
+        int result=0;
+        for (int shift=0;;shift+=7){
+            byte b=data.get(pos++);
+            result|=(b&0x7f)<<shift;
+            if (b>=0) return result;
+        }
+    }
+
+    /**
+     * Neighbours of v in ascending order. For traversals, prefer reusing one
+     * Neighbors cursor through reset.
+     */
+    public Iterable<Integer> adj(int v){
+        validate(v,V);
+        return () -> new Iterator<Integer>(){
+            private final Neighbors cursor=neighbors(v);
+
+            @Override
+            public boolean hasNext(){return cursor.hasNext();}
+
+            @Override
+            public Integer next(){return cursor.nextInt();}
+        };
+    }
+
+    public Neighbors neighbors(int v){
+        return new Neighbors().reset(v);
+    }
+
+    /**
+     * Decodes the neighbours of v into the given array, which must hold
+     * degree(v) entries, and returns how many there are.
+     */
+    public int neighbors(int v,int[] into){
+        Neighbors cursor=neighbors(v);
+        int n=0;
+        while (cursor.hasNext()) into[n++]=cursor.nextInt();
+        return n;
+    }
+
+    /**
+     * Decoding cursor over the neighbours of one vertex. A single instance
+     * can walk many vertices through reset, so traversals allocate nothing.
+     */
+    public class Neighbors implements PrimitiveIterator.OfInt {
+        private int pos;
+        private int remaining;
+        private int previous;
+        private boolean first;
+
+        public Neighbors reset(int v){
+            validate(v,V);
+            pos=offsets[v];
+            remaining=readVarint();
+            previous=v;
+            first=true;
+            return this;
+        }
+
+        @Override
+        public boolean hasNext(){return remaining>0;}
+
+        @Override
+        public int nextInt(){
+            if (remaining==0) throw new NoSuchElementException();
+            remaining--;
+            int n=readVarint();
+            previous+=first?unzigzag(n):n;
+            first=false;
+            return previous;
+        }
+
+        private int readVarint(){
+            byte b=data.get(pos++);
+            if (b>=0) return b;
+            int result=b&0x7f;
+            for (int shift=7;;shift+=7){
+                b=data.get(pos++);
+                result|=(b&0x7f)<<shift;
+                if (b>=0) return result;
+            }
+        }
+    }
+}
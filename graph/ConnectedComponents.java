@@ -0,0 +1,55 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Connected components of a Graph, labelled 0 .. count()-1 in one pass.
+ * Vertices are visited with an explicit stack, so long paths cannot overflow
+ * the call stack as the recursive DFS can.
+ */
+public class ConnectedComponents {
+
+    private final int[] componentId;
+    private final int[] size;
+    private final int count;
+
+    public ConnectedComponents(Graph G){
+        int V=G.V();
+        componentId=new int[V];
+        Arrays.fill(componentId,-1);
+        int[] stack=new int[V];
+        int[] sizes=new int[V];
+        int c=0;
+        for (int s = 0; s < V; s++) {
+            if (componentId[s]!=-1) continue;
+            int top=0;
+            stack[top++]=s;
+            componentId[s]=c;
+            while (top>0){
+                int v=stack[--top];
+                sizes[c]++;
+                for (int w:G.adj[v]) {
+                    if (componentId[w]!=-1) continue;
+                    componentId[w]=c;
+                    stack[top++]=w;
+                }
+            }
+            c++;
+        }
+        count=c;
+        size=Arrays.copyOf(sizes,c);
+    }
+
+    public int id(int v){return componentId[v];}
+
+    /**
+     * Component id of every vertex; the array is shared, not copied.
+     */
+    public int[] componentIds(){return componentId;}
+
+    public int size(int v){return size[componentId[v]];}
+
+    public int count(){return count;}
+
+    public boolean connected(int v,int w){return componentId[v]==componentId[w];}
+}
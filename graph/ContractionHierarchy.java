@@ -0,0 +1,446 @@
+package graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Contraction hierarchies over a Graph with unit edge costs. They take no
+ * EdgeWeight, so their distances only match Dijkstra with EdgeWeight.UNIT.
+ * Preprocessing contracts the vertices one by one, cheapest first (fewest
+ * shortcuts added compared to edges removed), and adds a shortcut between
+ * two neighbours of the contracted vertex whenever a bounded witness search
+ * finds no path between them that is at least as short. Queries then run a
+ * bidirectional Dijkstra that only follows edges towards higher ranked
+ * vertices. The augmented upward graph can be saved and loaded again, so
+ * preprocessing only has to be done once per graph.
+ */
+public class ContractionHierarchy {
+
+    public static final int UNREACHABLE = -1;
+
+    private static final int MAGIC = 0x43484731;
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int V;
+    private final int[] rank;
+    // upward edges of v are upTarget/upWeight/upMiddle[upStart[v] .. upStart[v+1])
+    private final int[] upStart;
+    private final int[] upTarget;
+    private final int[] upWeight;
+    private final int[] upMiddle;
+    private final ThreadLocal<QueryState> states;
+
+    public ContractionHierarchy(Graph graph){
+        Preprocessing p=new Preprocessing(graph);
+        p.contractAll();
+        this.V=graph.V();
+        this.rank=p.rank;
+        this.upStart=new int[V+1];
+        for (int v = 0; v < V; v++) {
+            int up=0;
+            for (int i = 0; i < p.degree[v]; i++) if (rank[p.nbr[v][i]]>rank[v]) up++;
+            upStart[v+1]=upStart[v]+up;
+        }
+        upTarget=new int[upStart[V]];
+        upWeight=new int[upStart[V]];
+        upMiddle=new int[upStart[V]];
+        for (int v = 0; v < V; v++) {
+            int k=upStart[v];
+            for (int i = 0; i < p.degree[v]; i++) {
+                if (rank[p.nbr[v][i]]<=rank[v]) continue;
+                upTarget[k]=p.nbr[v][i];
+                upWeight[k]=p.weight[v][i];
+                upMiddle[k]=p.middle[v][i];
+                k++;
+            }
+        }
+        this.states=ThreadLocal.withInitial(() -> new QueryState(V));
+    }
+
+    private ContractionHierarchy(int V,int[] rank,int[] upStart,int[] upTarget,int[] upWeight,int[] upMiddle){
+        this.V=V;
+        this.rank=rank;
+        this.upStart=upStart;
+        this.upTarget=upTarget;
+        this.upWeight=upWeight;
+        this.upMiddle=upMiddle;
+        this.states=ThreadLocal.withInitial(() -> new QueryState(V));
+    }
+
+    public int V(){return V;}
+
+    public int upwardEdges(){return upTarget.length;}
+
+    public int rank(int v){return rank[v];}
+
+    /**
+     * Length of a shortest path from s to t, UNREACHABLE if there is none.
+     */
+    public int distance(int s,int t){
+        validate(s);
+        validate(t);
+        QueryState q=states.get();
+        q.run(s,t);
+        return q.best==Integer.MAX_VALUE?UNREACHABLE:q.best;
+    }
+
+    /**
+     * Vertices on a shortest path from s to t, both included; null if t cannot
+     * be reached from s.
+     */
+    public int[] path(int s,int t){
+        validate(s);
+        validate(t);
+        QueryState q=states.get();
+        q.run(s,t);
+        if (q.best==Integer.MAX_VALUE) return null;
+        // Hops of the upward searches, from s up to the meeting vertex and
+        // from there down to t; shortcuts are unpacked afterwards.
+        int[] hops=new int[16];
+        int n=0;
+        for (int v=q.meet; v!=-1; v=q.parent[0][v]) {
+            if (n==hops.length) hops=Arrays.copyOf(hops,2*n);
+            hops[n++]=v;
+        }
+        for (int i = 0, j = n-1; i < j; i++, j--) { int x=hops[i]; hops[i]=hops[j]; hops[j]=x; }
+        for (int v=q.parent[1][q.meet]; v!=-1; v=q.parent[1][v]) {
+            if (n==hops.length) hops=Arrays.copyOf(hops,2*n);
+            hops[n++]=v;
+        }
+        int[] path=new int[q.best+1];
+        int length=0;
+        path[length++]=hops[0];
+        int[] stack=new int[16];
+        for (int i = 1; i < n; i++) {
+            // unpack the edge (hops[i-1], hops[i]) depth first, left to right
+            int top=0;
+            stack[top++]=hops[i];
+            int from=hops[i-1];
+            while (top>0){
+                int to=stack[top-1];
+                int mid=middle(from,to);
+                if (mid==-1){
+                    path[length++]=to;
+                    from=to;
+                    top--;
+                } else {
+                    if (top==stack.length) stack=Arrays.copyOf(stack,2*top);
+                    stack[top++]=mid;
+                }
+            }
+        }
+        return path;
+    }
+
+    private int middle(int a,int b){
+        int lo=rank[a]<rank[b]?a:b;
+        int hi=lo==a?b:a;
+        for (int k = upStart[lo]; k < upStart[lo+1]; k++) {
+            if (upTarget[k]==hi) return upMiddle[k];
+        }
+        throw new IllegalStateException("no edge between "+a+" and "+b);
+    }
+
+    private void validate(int v){
+        if (v<0||v>=V) throw new IllegalArgumentException("vertex "+v+" is not between 0 and "+(V-1));
+    }
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out=new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(V);
+            out.writeInt(upTarget.length);
+            for (int r:rank) out.writeInt(r);
+            for (int s:upStart) out.writeInt(s);
+            for (int i = 0; i < upTarget.length; i++) {
+                out.writeInt(upTarget[i]);
+                out.writeInt(upWeight[i]);
+                out.writeInt(upMiddle[i]);
+            }
+        }
+    }
+
+    public static ContractionHierarchy load(Path file) throws IOException {
+        try (DataInputStream in=new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt()!=MAGIC) throw new IOException("not a contraction hierarchy: "+file);
+            int V=in.readInt();
+            int E=in.readInt();
+            int[] rank=new int[V];
+            for (int v = 0; v < V; v++) rank[v]=in.readInt();
+            int[] upStart=new int[V+1];
+            for (int v = 0; v <= V; v++) upStart[v]=in.readInt();
+            int[] upTarget=new int[E], upWeight=new int[E], upMiddle=new int[E];
+            for (int i = 0; i < E; i++) {
+                upTarget[i]=in.readInt();
+                upWeight[i]=in.readInt();
+                upMiddle[i]=in.readInt();
+            }
+            return new ContractionHierarchy(V,rank,upStart,upTarget,upWeight,upMiddle);
+        }
+    }
+
+    /**
+     * Search arrays of the bidirectional query, owned by one thread and
+     * validated with a stamp instead of being cleared.
+     */
+    private class QueryState {
+        final int[][] dist=new int[2][];
+        final int[][] parent=new int[2][];
+        final int[][] seen=new int[2][];
+        final LongHeap[] heap={new LongHeap(),new LongHeap()};
+        int stamp;
+        int best;
+        int meet;
+
+        QueryState(int V){
+            for (int d = 0; d < 2; d++) {
+                dist[d]=new int[V];
+                parent[d]=new int[V];
+                seen[d]=new int[V];
+            }
+        }
+
+        void run(int s,int t){
+            stamp++;
+            if (stamp==0){
+                Arrays.fill(seen[0],0);
+                Arrays.fill(seen[1],0);
+                stamp=1;
+            }
+            best=Integer.MAX_VALUE;
+            meet=-1;
+            heap[0].clear();
+            heap[1].clear();
+            reach(0,s,0,-1);
+            reach(1,t,0,-1);
+            while (!heap[0].isEmpty()||!heap[1].isEmpty()){
+                int d;
+                if (heap[1].isEmpty()) d=0;
+                else if (heap[0].isEmpty()) d=1;
+                else d=heap[0].peek()<=heap[1].peek()?0:1;
+                long top=heap[d].poll();
+                int key=(int)(top>>>32);
+                int v=(int)top;
+                if (key>=best){
+                    heap[d].clear();
+                    continue;
+                }
+                if (key>dist[d][v]) continue;
+                if (seen[1-d][v]==stamp&&key+dist[1-d][v]<best){
+                    best=key+dist[1-d][v];
+                    meet=v;
+                }
+                for (int k = upStart[v]; k < upStart[v+1]; k++) {
+                    reach(d,upTarget[k],key+upWeight[k],v);
+                }
+            }
+        }
+
+        private void reach(int d,int v,int distance,int from){
+            if (seen[d][v]==stamp&&dist[d][v]<=distance) return;
+            seen[d][v]=stamp;
+            dist[d][v]=distance;
+            parent[d][v]=from;
+            heap[d].add(((long)distance<<32)|v);
+        }
+    }
+
+    /**
+     * Min-heap of longs; distances are packed in the high and vertices in the
+     * low 32 bits, so that entries are ordered by distance.
+     */
+    private static class LongHeap {
+        private long[] a=new long[16];
+        private int n;
+
+        boolean isEmpty(){return n==0;}
+        void clear(){n=0;}
+        long peek(){return a[0];}
+
+        void add(long x){
+            if (n==a.length) a=Arrays.copyOf(a,2*n);
+            int i=n++;
+            while (i>0){
+                int p=(i-1)>>>1;
+                if (a[p]<=x) break;
+                a[i]=a[p];
+                i=p;
+            }
+            a[i]=x;
+        }
+
+        long poll(){
+            long top=a[0];
+            long x=a[--n];
+            int i=0;
+            while (true){
+                int c=2*i+1;
+                if (c>=n) break;
+                if (c+1<n&&a[c+1]<a[c]) c++;
+                if (a[c]>=x) break;
+                a[i]=a[c];
+                i=c;
+            }
+            a[i]=x;
+            return top;
+        }
+    }
+
+    /**
+     * Node ordering and shortcut insertion over a mutable weighted copy of
+     * the graph.
+     */
+    private static class Preprocessing {
+        final int V;
+        final int[][] nbr;
+        final int[][] weight;
+        final int[][] middle;
+        final int[] degree;
+        final int[] rank;
+        final boolean[] contracted;
+        final int[] contractedNeighbours;
+        // witness search arrays
+        final int[] wDist;
+        final int[] wSeen;
+        final LongHeap wHeap=new LongHeap();
+        int wStamp;
+
+        Preprocessing(Graph graph){
+            V=graph.V();
+            nbr=new int[V][];
+            weight=new int[V][];
+            middle=new int[V][];
+            degree=new int[V];
+            rank=new int[V];
+            contracted=new boolean[V];
+            contractedNeighbours=new int[V];
+            wDist=new int[V];
+            wSeen=new int[V];
+            for (int v = 0; v < V; v++) {
+                nbr[v]=new int[4];
+                weight[v]=new int[4];
+                middle[v]=new int[4];
+            }
+            for (int v = 0; v < V; v++) {
+                for (int w:graph.adj(v)) {
+                    if (v<w) addEdge(v,w,1,-1);
+                }
+            }
+        }
+
+        void contractAll(){
+            LongHeap queue=new LongHeap();
+            for (int v = 0; v < V; v++) queue.add(pack(priority(v),v));
+            int next=0;
+            while (!queue.isEmpty()){
+                int v=(int)queue.poll();
+                // lazy update: re-queue v if its priority went up meanwhile
+                long current=pack(priority(v),v);
+                if (!queue.isEmpty()&&current>queue.peek()){
+                    queue.add(current);
+                    continue;
+                }
+                contract(v,true);
+                contracted[v]=true;
+                rank[v]=next++;
+                for (int i = 0; i < degree[v]; i++) contractedNeighbours[nbr[v][i]]++;
+            }
+        }
+
+        private static long pack(int priority,int v){
+            // offset keeps negative priorities ordered in the high bits
+            return ((long)(priority+(1<<30))<<32)|v;
+        }
+
+        private int priority(int v){
+            int remaining=0;
+            for (int i = 0; i < degree[v]; i++) if (!contracted[nbr[v][i]]) remaining++;
+            return contract(v,false)-remaining+contractedNeighbours[v];
+        }
+
+        /**
+         * Count (and if add is set, insert) the shortcuts needed to contract v.
+         */
+        private int contract(int v,boolean add){
+            int shortcuts=0;
+            int maxOut=0;
+            for (int i = 0; i < degree[v]; i++) {
+                if (!contracted[nbr[v][i]]) maxOut=Math.max(maxOut,weight[v][i]);
+            }
+            for (int i = 0; i < degree[v]; i++) {
+                int u=nbr[v][i];
+                if (contracted[u]) continue;
+                witnessSearch(u,v,weight[v][i]+maxOut);
+                for (int j = i+1; j < degree[v]; j++) {
+                    int w=nbr[v][j];
+                    if (contracted[w]) continue;
+                    int via=weight[v][i]+weight[v][j];
+                    if (wSeen[w]==wStamp&&wDist[w]<=via) continue;
+                    shortcuts++;
+                    if (add) addEdge(u,w,via,v);
+                }
+            }
+            return shortcuts;
+        }
+
+        private void witnessSearch(int source,int excluded,int limit){
+            wStamp++;
+            wHeap.clear();
+            wSeen[source]=wStamp;
+            wDist[source]=0;
+            wHeap.add(source);
+            int settled=0;
+            while (!wHeap.isEmpty()&&settled<WITNESS_SETTLE_LIMIT){
+                long top=wHeap.poll();
+                int d=(int)(top>>>32);
+                int x=(int)top;
+                if (d>wDist[x]) continue;
+                if (d>limit) break;
+                settled++;
+                for (int i = 0; i < degree[x]; i++) {
+                    int y=nbr[x][i];
+                    if (y==excluded||contracted[y]) continue;
+                    int nd=d+weight[x][i];
+                    if (wSeen[y]!=wStamp||nd<wDist[y]){
+                        wSeen[y]=wStamp;
+                        wDist[y]=nd;
+                        wHeap.add(((long)nd<<32)|y);
+                    }
+                }
+            }
+        }
+
+        private void addEdge(int u,int w,int wt,int mid){
+            if (u==w) return;
+            addHalfEdge(u,w,wt,mid);
+            addHalfEdge(w,u,wt,mid);
+        }
+
+        private void addHalfEdge(int u,int w,int wt,int mid){
+            for (int i = 0; i < degree[u]; i++) {
+                if (nbr[u][i]==w){
+                    if (wt<weight[u][i]){
+                        weight[u][i]=wt;
+                        middle[u][i]=mid;
+                    }
+                    return;
+                }
+            }
+            if (degree[u]==nbr[u].length){
+                nbr[u]=Arrays.copyOf(nbr[u],2*degree[u]);
+                weight[u]=Arrays.copyOf(weight[u],2*degree[u]);
+                middle[u]=Arrays.copyOf(middle[u],2*degree[u]);
+            }
+            nbr[u][degree[u]]=w;
+            weight[u][degree[u]]=wt;
+            middle[u][degree[u]]=mid;
+            degree[u]++;
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package graph;
 
-
-
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 
 import edu.princeton.cs.algs4.Graph;
 
@@ -14,6 +15,12 @@ public class DFS{
         marked=new boolean[G.V()];
         dfs(G,source);
     }
+    // the same search over this package's graphs, e.g. a DynamicGraph snapshot;
+    // it keeps its own stack, so paths of any length can be searched
+    public DFS(GraphView G,int source){
+        marked=new boolean[G.V()];
+        dfs(G,source);
+    }
     private void dfs(Graph g,int v){
         marked[v]=true;
         count++;
@@ -22,6 +29,25 @@ public class DFS{
 
         }
     }
+    private void dfs(GraphView g,int source){
+        Deque<Iterator<Integer>> stack=new ArrayDeque<>();
+        marked[source]=true;
+        count++;
+        stack.push(g.adj(source).iterator());
+        while (!stack.isEmpty()) {
+            Iterator<Integer> it=stack.peek();
+            if (!it.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            int w=it.next();
+            if (!marked[w]) {
+                marked[w]=true;
+                count++;
+                stack.push(g.adj(w).iterator());
+            }
+        }
+    }
     public boolean marked(int v){return marked[v];}
     public int count(){return count;}
 }
\ No newline at end of file
@@ -0,0 +1,266 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Parallel single-source shortest paths by delta-stepping.
+ * Tentative distances are kept in buckets of width delta. The lowest
+ * non-empty bucket is emptied by relaxing the light edges (weight at most
+ * delta) of its vertices in parallel until it stays empty, after which the
+ * heavy edges of every vertex it held are relaxed once. Distances are
+ * lowered with compare-and-set, so the result equals that of Dijkstra.
+ * Edges are copied into arrays with the light edges of each vertex first;
+ * the copy is rebuilt when the graph version changes. Built on a
+ * DynamicGraph, every search reads its latest snapshot.
+ */
+public class DeltaStepping {
+
+    public static final int UNREACHABLE = -1;
+    private static final int INFINITY = Integer.MAX_VALUE;
+    // frontiers smaller than this are relaxed on the calling thread
+    static final int PARALLEL_THRESHOLD = 1<<10;
+
+    private final Supplier<? extends GraphView> graph;
+    private final EdgeWeight weight;
+    private final ForkJoinPool pool;
+    private final int delta;
+    private Edges edges;
+
+    public DeltaStepping(GraphView graph){
+        this(graph,EdgeWeight.UNIT);
+    }
+
+    public DeltaStepping(GraphView graph,EdgeWeight weight){
+        this(graph,weight,0,ForkJoinPool.commonPool());
+    }
+
+    public DeltaStepping(DynamicGraph graph,EdgeWeight weight){
+        this(graph::snapshot,weight,0,ForkJoinPool.commonPool());
+    }
+
+    public DeltaStepping(GraphView graph,EdgeWeight weight,int delta,ForkJoinPool pool){
+        this(() -> graph,weight,delta,pool);
+    }
+
+    /**
+     * A delta of 0 picks one from the graph: the largest weight divided by
+     * the average degree, but at least 1. The graph supplier must return
+     * graphs whose version changes whenever their edges do.
+     */
+    public DeltaStepping(Supplier<? extends GraphView> graph,EdgeWeight weight,int delta,ForkJoinPool pool){
+        if (delta<0) throw new IllegalArgumentException("delta must not be negative: "+delta);
+        this.graph=graph;
+        this.weight=weight;
+        this.pool=pool;
+        Edges edges=new Edges(graph.get(),weight);
+        this.delta=delta>0?delta:edges.defaultDelta();
+        edges.split(this.delta);
+        this.edges=edges;
+    }
+
+    public int delta(){return delta;}
+
+    /**
+     * Distance from source to every vertex, UNREACHABLE for vertices that
+     * cannot be reached.
+     */
+    public int[] distancesFrom(int source){
+        Edges edges=current();
+        int V=edges.lightEnd.length;
+        if (source<0||source>=V) throw new IllegalArgumentException("vertex "+source+" is not between 0 and "+(V-1));
+        return new Search(edges).run(source);
+    }
+
+    private synchronized Edges current(){
+        GraphView graph=this.graph.get();
+        if (edges.version!=graph.version()){
+            Edges e=new Edges(graph,weight);
+            e.split(delta);
+            edges=e;
+        }
+        return edges;
+    }
+
+    /**
+     * Adjacency of every vertex v in target/cost[start[v]..start[v+1]),
+     * of which the light edges come before lightEnd[v].
+     */
+    private static class Edges {
+        final int version;
+        final int[] start;
+        final int[] lightEnd;
+        final int[] target;
+        final int[] cost;
+
+        Edges(GraphView graph,EdgeWeight weight){
+            version=graph.version();
+            int V=graph.V();
+            start=new int[V+1];
+            lightEnd=new int[V];
+            for (int v = 0; v < V; v++) start[v+1]=start[v]+graph.degree(v);
+            target=new int[start[V]];
+            cost=new int[start[V]];
+            for (int v = 0; v < V; v++) {
+                int i=start[v];
+                for (int w:graph.adj(v)) {
+                    int c=weight.weight(v,w);
+                    if (c<0) throw new IllegalArgumentException("negative weight on edge "+v+"-"+w);
+                    target[i]=w;
+                    cost[i++]=c;
+                }
+            }
+        }
+
+        int defaultDelta(){
+            int max=0;
+            for (int c:cost) max=Math.max(max,c);
+            int V=lightEnd.length;
+            double degree=V==0?0:(double)cost.length/V;
+            return Math.max(1,degree<1?max:(int)(max/degree));
+        }
+
+        void split(int delta){
+            for (int v = 0; v < lightEnd.length; v++) {
+                int i=start[v],j=start[v+1]-1;
+                while (i<=j){
+                    if (cost[i]<=delta) i++;
+                    else {
+                        int t=target[i]; target[i]=target[j]; target[j]=t;
+                        int c=cost[i]; cost[i]=cost[j]; cost[j]=c;
+                        j--;
+                    }
+                }
+                lightEnd[v]=i;
+            }
+        }
+    }
+
+    private class Search {
+        private final Edges edges;
+        private final AtomicIntegerArray dist;
+        // buckets may hold stale or repeated vertices, which are skipped
+        private final TreeMap<Integer,IntList> buckets=new TreeMap<>();
+        private final int[] inRound;
+        private final int[] inBucket;
+        private int round;
+
+        Search(Edges edges){
+            this.edges=edges;
+            int V=edges.lightEnd.length;
+            dist=new AtomicIntegerArray(V);
+            for (int v = 0; v < V; v++) dist.set(v,INFINITY);
+            inRound=new int[V];
+            inBucket=new int[V];
+        }
+
+        int[] run(int source){
+            dist.set(source,0);
+            bucketFor(source).add(source);
+            int bucketNumber=0;
+            while (!buckets.isEmpty()){
+                int i=buckets.firstKey();
+                bucketNumber++;
+                IntList settled=new IntList();
+                IntList bucket;
+                while ((bucket=buckets.remove(i))!=null){
+                    round++;
+                    IntList frontier=new IntList();
+                    for (int k = 0; k < bucket.size; k++) {
+                        int v=bucket.items[k];
+                        if (inRound[v]==round||dist.get(v)/delta!=i) continue;
+                        inRound[v]=round;
+                        frontier.add(v);
+                        if (inBucket[v]!=bucketNumber){
+                            inBucket[v]=bucketNumber;
+                            settled.add(v);
+                        }
+                    }
+                    relax(frontier,true);
+                }
+                relax(settled,false);
+            }
+            int[] result=new int[dist.length()];
+            for (int v = 0; v < result.length; v++) {
+                int d=dist.get(v);
+                result[v]=d==INFINITY?UNREACHABLE:d;
+            }
+            return result;
+        }
+
+        private IntList bucketFor(int v){
+            return buckets.computeIfAbsent(dist.get(v)/delta,k -> new IntList());
+        }
+
+        private void relax(IntList vertices,boolean light){
+            if (vertices.size==0) return;
+            ConcurrentLinkedQueue<IntList> improved=new ConcurrentLinkedQueue<>();
+            Relaxation task=new Relaxation(vertices.items,0,vertices.size,light,improved);
+            if (vertices.size<PARALLEL_THRESHOLD) task.compute();
+            else pool.invoke(task);
+            for (IntList list:improved) {
+                for (int k = 0; k < list.size; k++) bucketFor(list.items[k]).add(list.items[k]);
+            }
+        }
+
+        @SuppressWarnings("serial")
+        private class Relaxation extends RecursiveAction {
+            private final int[] vertices;
+            private final int from,to;
+            private final boolean light;
+            private final ConcurrentLinkedQueue<IntList> improved;
+
+            Relaxation(int[] vertices,int from,int to,boolean light,ConcurrentLinkedQueue<IntList> improved){
+                this.vertices=vertices;
+                this.from=from;
+                this.to=to;
+                this.light=light;
+                this.improved=improved;
+            }
+
+            @Override
+            protected void compute(){
+                if (to-from>PARALLEL_THRESHOLD){
+                    int mid=(from+to)>>>1;
+                    invokeAll(new Relaxation(vertices,from,mid,light,improved),
+                            new Relaxation(vertices,mid,to,light,improved));
+                    return;
+                }
+                IntList out=new IntList();
+                for (int k = from; k < to; k++) {
+                    int v=vertices[k];
+                    int dv=dist.get(v);
+                    int first=light?edges.start[v]:edges.lightEnd[v];
+                    int last=light?edges.lightEnd[v]:edges.start[v+1];
+                    for (int e = first; e < last; e++) {
+                        int w=edges.target[e];
+                        int nd=Math.addExact(dv,edges.cost[e]);
+                        int cur;
+                        while (nd<(cur=dist.get(w))){
+                            if (dist.compareAndSet(w,cur,nd)){
+                                out.add(w);
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (out.size>0) improved.add(out);
+            }
+        }
+    }
+
+    private static class IntList {
+        int[] items=new int[8];
+        int size;
+
+        void add(int v){
+            if (size==items.length) items=Arrays.copyOf(items,size*2);
+            items[size++]=v;
+        }
+    }
+}
@@ -5,13 +5,22 @@ import java.util.*;
 public class Dijkstra {
 
     private Set<Integer> closed;
-    private HashMap<Integer,Integer> precursor;
+    private int[] precursor;
     private HashMap<Integer,Integer> costToReach;
     private int vertcount;
+    private int start;
 
-    public Dijkstra(Graph graph,int start,int dest){
-        closed=Collections.emptySet();
-        vertcount=graph.adj.length;
+    public Dijkstra(GraphView graph,int start,int dest){
+        this(graph,start,dest,EdgeWeight.UNIT);
+    }
+
+    public Dijkstra(GraphView graph,int start,int dest,EdgeWeight weight){
+        closed=new HashSet<>();
+        costToReach=new HashMap<>();
+        vertcount=graph.V();
+        precursor=new int[vertcount];
+        Arrays.fill(precursor,-1);
+        this.start=start;
         for (int i = 0; i < vertcount; i++) {
             costToReach.put(i,Integer.MAX_VALUE);
         }
@@ -22,10 +31,10 @@ public class Dijkstra {
 
             for (int next:graph.adj(current)) {
                 if(closed.contains(next)) continue;
-                int cost =getCost(graph,current,next)+costToReach.get(current);
+                int cost =getCost(weight,current,next)+costToReach.get(current);
                 if (cost<costToReach.get(next)){
                     costToReach.replace(next,cost);
-                    precursor.put(next,current);
+                    precursor[next]=current;
                 }
 
             }
@@ -35,14 +44,16 @@ public class Dijkstra {
         }
 
     }
-    private int getCost(Graph graph,int from,int to){
-        return 1;
+    private int getCost(EdgeWeight weight,int from,int to){
+        int cost=weight.weight(from,to);
+        if (cost<0) throw new IllegalArgumentException("negative weight on edge "+from+"-"+to);
+        return cost;
     }
 
     private int getNext(){
         int value=-1;
         int cost=Integer.MAX_VALUE;
-        for (int i = 0; i <vertcount+1 ; i++) {
+        for (int i = 0; i <vertcount ; i++) {
             if(closed.contains(i)) continue;
             if (costToReach.get(i)<cost){
                 value=i;
@@ -54,15 +65,27 @@ public class Dijkstra {
         return value;
     }
 
+    public int getDistance(int to){
+        return costToReach.get(to);
+    }
+
+    // vertices after from up to and including to
     public ArrayList<Integer> getPath(int from,int to){
-        if (from==to){
-            return(ArrayList<Integer>) Collections.EMPTY_LIST;
+        int[] path=Paths.path(precursor,from,to);
+        ArrayList<Integer> toReturn=new ArrayList<>(path.length-1);
+        for (int i = 1; i < path.length; i++) {
+            toReturn.add(path[i]);
         }
-        int prec=precursor.get(to);
-        ArrayList<Integer> toReturn=getPath(from,prec);
-        toReturn.add(-1,to);
         return toReturn;
+    }
+
+    // vertices from start to to, both included
+    public int[] pathTo(int to){
+        return Paths.path(precursor,start,to);
+    }
 
+    public PrimitiveIterator.OfInt reversePathTo(int to){
+        return Paths.reverse(precursor,start,to);
     }
 
 }
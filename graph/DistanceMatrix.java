@@ -0,0 +1,139 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Batched one-to-many and many-to-many shortest path distances.
+ * Distances are unit-cost only: every edge costs 1, as in Dijkstra with
+ * EdgeWeight.UNIT, so each single-source search settles vertices in
+ * breadth-first order and stops as soon as all targets are settled. Use
+ * Dijkstra or DeltaStepping with an EdgeWeight for weighted distances. Sources of a many-to-many query are searched in parallel on
+ * a worker pool; each worker thread reuses its own search arrays.
+ */
+public class DistanceMatrix {
+
+    public static final int UNREACHABLE = -1;
+
+    private final Graph graph;
+    private final ExecutorService pool;
+    private final ThreadLocal<SearchState> states;
+
+    public DistanceMatrix(Graph graph){
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public DistanceMatrix(Graph graph, ExecutorService pool){
+        this.graph=graph;
+        this.pool=pool;
+        this.states=ThreadLocal.withInitial(() -> new SearchState(graph.V()));
+    }
+
+    /**
+     * Distances from source to each of the targets, UNREACHABLE for targets
+     * that cannot be reached.
+     */
+    public int[] oneToMany(int source, int[] targets){
+        validate(source);
+        for (int t:targets) validate(t);
+        int[] row=new int[targets.length];
+        states.get().search(graph,source,targets,row,0);
+        return row;
+    }
+
+    /**
+     * Row-major matrix of distances: entry [i*targets.length+j] is the distance
+     * from sources[i] to targets[j], UNREACHABLE if there is no path.
+     */
+    public int[] manyToMany(int[] sources, int[] targets){
+        for (int s:sources) validate(s);
+        for (int t:targets) validate(t);
+        int[] matrix=new int[sources.length*targets.length];
+        List<Callable<Void>> tasks=new ArrayList<>(sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            int source=sources[i];
+            int offset=i*targets.length;
+            tasks.add(() -> {
+                states.get().search(graph,source,targets,matrix,offset);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> f:pool.invokeAll(tasks)) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("distance matrix computation interrupted",e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("distance matrix computation failed",e.getCause());
+        }
+        return matrix;
+    }
+
+    private void validate(int v){
+        if (v<0||v>=graph.V()) throw new IllegalArgumentException("vertex "+v+" is not between 0 and "+(graph.V()-1));
+    }
+
+    /**
+     * Search arrays owned by one thread. Instead of clearing the arrays before
+     * each search, entries are only valid if their stamp equals the current
+     * search number.
+     */
+    private static class SearchState {
+        private final int[] dist;
+        private final int[] seen;
+        private final int[] target;
+        private final int[] queue;
+        private int stamp;
+
+        SearchState(int V){
+            dist=new int[V];
+            seen=new int[V];
+            target=new int[V];
+            queue=new int[V];
+        }
+
+        private void nextStamp(){
+            stamp++;
+            if (stamp==0){
+                java.util.Arrays.fill(seen,0);
+                java.util.Arrays.fill(target,0);
+                stamp=1;
+            }
+        }
+
+        void search(Graph graph,int source,int[] targets,int[] out,int offset){
+            nextStamp();
+            int remaining=0;
+            for (int t:targets) {
+                if (target[t]!=stamp){
+                    target[t]=stamp;
+                    remaining++;
+                }
+            }
+            int head=0,tail=0;
+            dist[source]=0;
+            seen[source]=stamp;
+            queue[tail++]=source;
+            if (target[source]==stamp) remaining--;
+            while (remaining>0&&head<tail){
+                int v=queue[head++];
+                for (int w:graph.adj[v]) {
+                    if (seen[w]==stamp) continue;
+                    seen[w]=stamp;
+                    dist[w]=dist[v]+1;
+                    queue[tail++]=w;
+                    if (target[w]==stamp) remaining--;
+                }
+            }
+            for (int j = 0; j < targets.length; j++) {
+                int t=targets[j];
+                out[offset+j]=seen[t]==stamp?dist[t]:UNREACHABLE;
+            }
+        }
+    }
+}
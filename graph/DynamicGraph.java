@@ -0,0 +1,212 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.princeton.cs.algs4.Bag;
+
+/**
+ * Graph supporting edge removal and batched updates next to concurrent
+ * readers. Readers take snapshot(), a read-only Snapshot that is never
+ * changed afterwards, and can run DFS, Dijkstra and the other GraphView
+ * engines of this package on it without locking. ShortestPathCache and
+ * DeltaStepping built on the DynamicGraph itself read the latest snapshot
+ * and notice every commit through its version.
+ * Adjacency bags are kept in pages of PAGE_SIZE vertices. A committed batch
+ * replaces the bags it touches in copies of their pages and of the page
+ * directory; all other pages are shared with the previous snapshot, and the
+ * new snapshot is published in one volatile write, so no reader sees half a
+ * batch. Published bags are never modified.
+ */
+public class DynamicGraph {
+
+    static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1<<PAGE_SHIFT;
+    private static final Bag<Integer> EMPTY = new Bag<>();
+
+    private volatile Snapshot snapshot;
+
+    public DynamicGraph(int V){
+        if (V<0) throw new IllegalArgumentException("number of vertices must not be negative: "+V);
+        Bag<Integer>[][] pages=newPages(V);
+        for (Bag<Integer>[] page:pages) Arrays.fill(page,EMPTY);
+        this.snapshot=new Snapshot(pages,V,0,0);
+    }
+
+    // copies the given graph, which stays independent of this one
+    public DynamicGraph(GraphView graph){
+        int V=graph.V();
+        Bag<Integer>[][] pages=newPages(V);
+        for (int v = 0; v < V; v++) pages[v>>>PAGE_SHIFT][v&(PAGE_SIZE-1)]=toBag(neighbors(graph.adj(v),graph.degree(v)));
+        this.snapshot=new Snapshot(pages,V,graph.E(),0);
+    }
+
+    public Snapshot snapshot(){return snapshot;}
+
+    public int V(){return snapshot.V();}
+    public int E(){return snapshot.E();}
+
+    public void addEdge(int v,int w){
+        batch().addEdge(v,w).commit();
+    }
+
+    public void removeEdge(int v,int w){
+        batch().removeEdge(v,w).commit();
+    }
+
+    public Batch batch(){
+        return new Batch();
+    }
+
+    private synchronized void apply(int[] ops,int size){
+        Snapshot current=snapshot;
+        Map<Integer,IntList> touched=new HashMap<>();
+        int E=current.E();
+        for (int i = 0; i < size; i+=3) {
+            int v=ops[i+1],w=ops[i+2];
+            IntList vs=touched.computeIfAbsent(v,k -> neighbors(current.bag(k),current.degree(k)));
+            IntList ws=touched.computeIfAbsent(w,k -> neighbors(current.bag(k),current.degree(k)));
+            if (ops[i]==Batch.ADD){
+                vs.add(w);
+                ws.add(v);
+                E++;
+            } else {
+                if (!vs.remove(w)) throw new IllegalArgumentException("no edge "+v+"-"+w);
+                if (!ws.remove(v)) throw new IllegalArgumentException("no edge "+v+"-"+w);
+                E--;
+            }
+        }
+        Bag<Integer>[][] pages=current.pages.clone();
+        for (Map.Entry<Integer,IntList> e:touched.entrySet()) {
+            int v=e.getKey(),p=v>>>PAGE_SHIFT;
+            if (pages[p]==current.pages[p]) pages[p]=pages[p].clone();
+            pages[p][v&(PAGE_SIZE-1)]=toBag(e.getValue());
+        }
+        snapshot=new Snapshot(pages,current.V(),E,current.version()+1);
+    }
+
+    // pages of PAGE_SIZE bags, of which the last one is cut to V
+    @SuppressWarnings("unchecked")
+    private static Bag<Integer>[][] newPages(int V){
+        Bag<Integer>[][] pages=(Bag<Integer>[][]) new Bag<?>[(V+PAGE_SIZE-1)>>>PAGE_SHIFT][];
+        for (int p = 0; p < pages.length; p++) pages[p]=(Bag<Integer>[]) new Bag<?>[Math.min(PAGE_SIZE,V-(p<<PAGE_SHIFT))];
+        return pages;
+    }
+
+    /**
+     * The graph as of one commit. Its bags may be shared with other
+     * snapshots, so it only offers read access.
+     */
+    public static final class Snapshot implements GraphView {
+        private final Bag<Integer>[][] pages;
+        private final int V;
+        private final int E;
+        private final int version;
+
+        private Snapshot(Bag<Integer>[][] pages,int V,int E,int version){
+            this.pages=pages;
+            this.V=V;
+            this.E=E;
+            this.version=version;
+        }
+
+        private Bag<Integer> bag(int v){
+            if (v<0||v>=V) throw new IllegalArgumentException("vertex "+v+" is not between 0 and "+(V-1));
+            return pages[v>>>PAGE_SHIFT][v&(PAGE_SIZE-1)];
+        }
+
+        @Override public int V(){return V;}
+        @Override public int E(){return E;}
+        @Override public int version(){return version;}
+        @Override public Iterable<Integer> adj(int v){return bag(v)::iterator;}
+        @Override public int degree(int v){return bag(v).size();}
+    }
+
+    // neighbours in insertion order, the reverse of the order a Bag returns
+    private static IntList neighbors(Iterable<Integer> bag,int degree){
+        IntList list=new IntList(degree);
+        list.size=degree;
+        int i=list.size;
+        for (int w:bag) list.items[--i]=w;
+        return list;
+    }
+
+    private static Bag<Integer> toBag(IntList list){
+        Bag<Integer> bag=new Bag<>();
+        for (int i = 0; i < list.size; i++) bag.add(list.items[i]);
+        return bag;
+    }
+
+    /**
+     * Edge additions and removals that become visible together on commit,
+     * in the order they were made. If a removal finds no such edge, commit
+     * throws IllegalArgumentException and publishes nothing.
+     */
+    public class Batch {
+        static final int ADD = 0;
+        static final int REMOVE = 1;
+
+        private int[] ops=new int[12];
+        private int size;
+        private boolean committed;
+
+        private Batch(){}
+
+        public Batch addEdge(int v,int w){
+            return record(ADD,v,w);
+        }
+
+        public Batch removeEdge(int v,int w){
+            return record(REMOVE,v,w);
+        }
+
+        private Batch record(int op,int v,int w){
+            if (committed) throw new IllegalStateException("batch already committed");
+            validate(v);
+            validate(w);
+            if (size+3>ops.length) ops=Arrays.copyOf(ops,ops.length*2);
+            ops[size++]=op;
+            ops[size++]=v;
+            ops[size++]=w;
+            return this;
+        }
+
+        public void commit(){
+            if (committed) throw new IllegalStateException("batch already committed");
+            committed=true;
+            if (size>0) apply(ops,size);
+        }
+    }
+
+    private void validate(int v){
+        int V=snapshot.V();
+        if (v<0||v>=V) throw new IllegalArgumentException("vertex "+v+" is not between 0 and "+(V-1));
+    }
+
+    private static class IntList {
+        int[] items;
+        int size;
+
+        IntList(int capacity){
+            items=new int[Math.max(capacity,4)];
+        }
+
+        void add(int v){
+            if (size==items.length) items=Arrays.copyOf(items,size*2);
+            items[size++]=v;
+        }
+
+        // removes the most recent occurrence of v
+        boolean remove(int v){
+            for (int i = size-1; i >= 0; i--) {
+                if (items[i]==v){
+                    System.arraycopy(items,i+1,items,i,size-i-1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package graph;
+
+/**
+ * Non-negative cost of travelling the edge from one vertex to another.
+ * Graph itself stores no weights, so weighted searches take one of these.
+ */
+@FunctionalInterface
+public interface EdgeWeight {
+
+    EdgeWeight UNIT = (from,to) -> 1;
+
+    int weight(int from,int to);
+}
@@ -4,9 +4,10 @@ import edu.princeton.cs.algs4.Bag;
 import edu.princeton.cs.algs4.In;
 
 
-public class Graph {
+public class Graph implements GraphView {
     private final int V;
     private int E;
+    private volatile int version;
     public Bag<Integer>[] adj;
     public Graph(int V){
         this.V=V;this.E=0;
@@ -19,12 +20,17 @@ public class Graph {
         adj[v].add(w);
         adj[w].add(v);
         E++;
+        version++;
     }
     public Iterable<Integer> adj(int v){
         return adj[v];
     }
+    public int degree(int v){return adj[v].size();}
     public int V(){return this.V;}
     public int E(){return this.E;}
+    // bumped by addEdge after the edge is stored, so derived data can detect it is stale;
+    // writes straight into the public adj array leave it unchanged
+    public int version(){return this.version;}
 
     public Graph(In in){
         this(in.readInt());
@@ -0,0 +1,150 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic graphs for scaling tests: the same arguments and
+ * seed always give the same edges in the same order. Each generator feeds
+ * its edges to an EdgeSink, so Graph::addEdge, OffHeapGraph.Builder::addEdge,
+ * a DynamicGraph batch or an algs4 Graph can all be filled directly; the
+ * overloads without a sink return a new Graph.
+ */
+public final class GraphGenerators {
+
+    @FunctionalInterface
+    public interface EdgeSink {
+        void addEdge(int v,int w);
+    }
+
+    private GraphGenerators(){}
+
+    // vertex r*cols+c is joined to its right and lower neighbour
+    public static Graph grid(int rows,int cols){
+        Graph graph=new Graph(checkedProduct(rows,cols));
+        grid(rows,cols,graph::addEdge);
+        return graph;
+    }
+
+    public static void grid(int rows,int cols,EdgeSink sink){
+        checkedProduct(rows,cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v=r*cols+c;
+                if (c+1<cols) sink.addEdge(v,v+1);
+                if (r+1<rows) sink.addEdge(v,v+cols);
+            }
+        }
+    }
+
+    // 0-1-2-...-(V-1), the deepest graph for recursive traversals
+    public static Graph path(int V){
+        Graph graph=new Graph(V);
+        path(V,graph::addEdge);
+        return graph;
+    }
+
+    public static void path(int V,EdgeSink sink){
+        if (V<0) throw new IllegalArgumentException("number of vertices must not be negative: "+V);
+        for (int v = 0; v+1 < V; v++) sink.addEdge(v,v+1);
+    }
+
+    /**
+     * V points placed uniformly in the unit square, joined when they are at
+     * most radius apart. Points are binned in cells of side radius, so only
+     * neighbouring cells are compared.
+     */
+    public static Graph randomGeometric(int V,double radius,long seed){
+        Graph graph=new Graph(V);
+        randomGeometric(V,radius,seed,graph::addEdge);
+        return graph;
+    }
+
+    public static void randomGeometric(int V,double radius,long seed,EdgeSink sink){
+        if (V<0) throw new IllegalArgumentException("number of vertices must not be negative: "+V);
+        if (!(radius>0)) throw new IllegalArgumentException("radius must be positive: "+radius);
+        Random random=new Random(seed);
+        double[] x=new double[V],y=new double[V];
+        for (int v = 0; v < V; v++) {
+            x[v]=random.nextDouble();
+            y[v]=random.nextDouble();
+        }
+        // cells no narrower than radius, and not many more of them than points
+        int side=(int)Math.max(1,Math.min(Math.floor(1/radius),Math.sqrt(Math.max(V,1))));
+        int[] cellStart=new int[side*side+1];
+        int[] cellOf=new int[V];
+        for (int v = 0; v < V; v++) {
+            cellOf[v]=cell(x[v],side)*side+cell(y[v],side);
+            cellStart[cellOf[v]+1]++;
+        }
+        for (int c = 0; c < side*side; c++) cellStart[c+1]+=cellStart[c];
+        int[] next=Arrays.copyOf(cellStart,side*side);
+        int[] byCell=new int[V];
+        for (int v = 0; v < V; v++) byCell[next[cellOf[v]]++]=v;
+        double r2=radius*radius;
+        for (int v = 0; v < V; v++) {
+            int cx=cellOf[v]/side,cy=cellOf[v]%side;
+            for (int i = Math.max(0,cx-1); i <= Math.min(side-1,cx+1); i++) {
+                for (int j = Math.max(0,cy-1); j <= Math.min(side-1,cy+1); j++) {
+                    int c=i*side+j;
+                    for (int k = cellStart[c]; k < cellStart[c+1]; k++) {
+                        int w=byCell[k];
+                        if (w<=v) continue;
+                        double dx=x[v]-x[w],dy=y[v]-y[w];
+                        if (dx*dx+dy*dy<=r2) sink.addEdge(v,w);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cell(double coordinate,int side){
+        return Math.min(side-1,(int)(coordinate*side));
+    }
+
+    /**
+     * R-MAT graph on 2^scale vertices with edgeFactor*2^scale drawn edges,
+     * using the Graph500 quadrant probabilities 0.57, 0.19, 0.19 and 0.05.
+     * Degrees follow a power law. Self-loops are dropped; duplicate edges
+     * are kept.
+     */
+    public static Graph rmat(int scale,int edgeFactor,long seed){
+        Graph graph=new Graph(1<<checkScale(scale));
+        rmat(scale,edgeFactor,0.57,0.19,0.19,seed,graph::addEdge);
+        return graph;
+    }
+
+    public static void rmat(int scale,int edgeFactor,double a,double b,double c,long seed,EdgeSink sink){
+        checkScale(scale);
+        if (edgeFactor<0) throw new IllegalArgumentException("edge factor must not be negative: "+edgeFactor);
+        if (!(a>=0&&b>=0&&c>=0&&a+b+c<=1)) throw new IllegalArgumentException("quadrant probabilities must be non-negative and sum to at most 1");
+        long edges=(long)edgeFactor<<scale;
+        Random random=new Random(seed);
+        for (long e = 0; e < edges; e++) {
+            int v=0,w=0;
+            for (int bit = scale-1; bit >= 0; bit--) {
+                double p=random.nextDouble();
+                if (p<a) continue;
+                if (p<a+b) w|=1<<bit;
+                else if (p<a+b+c) v|=1<<bit;
+                else {
+                    v|=1<<bit;
+                    w|=1<<bit;
+                }
+            }
+            if (v!=w) sink.addEdge(v,w);
+        }
+    }
+
+    private static int checkScale(int scale){
+        if (scale<0||scale>30) throw new IllegalArgumentException("scale must be between 0 and 30: "+scale);
+        return scale;
+    }
+
+    private static int checkedProduct(int rows,int cols){
+        if (rows<0||cols<0) throw new IllegalArgumentException("grid dimensions must not be negative: "+rows+"x"+cols);
+        long V=(long)rows*cols;
+        if (V>Integer.MAX_VALUE) throw new IllegalArgumentException("grid too large: "+rows+"x"+cols);
+        return (int)V;
+    }
+}
@@ -0,0 +1,18 @@
+package graph;
+
+/**
+ * Read-only access to an undirected graph, implemented by Graph and by the
+ * snapshots of a DynamicGraph. The version changes whenever the edges do.
+ */
+public interface GraphView {
+
+    int V();
+
+    int E();
+
+    int version();
+
+    Iterable<Integer> adj(int v);
+
+    int degree(int v);
+}
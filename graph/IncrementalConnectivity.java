@@ -0,0 +1,34 @@
+package graph;
+
+/**
+ * A Graph together with a union-find that absorbs every addEdge, so that
+ * connectivity queries never need a new traversal.
+ */
+public class IncrementalConnectivity {
+
+    private final Graph graph;
+    private final UnionFind components;
+
+    public IncrementalConnectivity(int V){
+        this(new Graph(V));
+    }
+
+    public IncrementalConnectivity(Graph graph){
+        this.graph=graph;
+        this.components=UnionFind.fromGraph(graph);
+    }
+
+    /**
+     * Add the edge to the graph; true if it joined two components.
+     */
+    public boolean addEdge(int v,int w){
+        graph.addEdge(v,w);
+        return components.union(v,w);
+    }
+
+    public boolean connected(int v,int w){return components.connected(v,w);}
+
+    public int count(){return components.count();}
+
+    public Graph graph(){return graph;}
+}
@@ -0,0 +1,270 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+import edu.princeton.cs.algs4.In;
+
+/**
+ * Read-only undirected graph whose adjacency arrays live outside the heap.
+ * Neighbours are kept in CSR form: those of v sit at positions
+ * offsets[v]..offsets[v+1] of one long neighbour array. Both arrays are split
+ * over direct buffers of at most CHUNK entries, so the heap holds only a few
+ * buffer objects however many edges there are, and the edge count is not
+ * limited by the 2GB size of a single buffer. The memory is released when
+ * the graph becomes unreachable.
+ */
+public class OffHeapGraph {
+
+    static final int CHUNK_SHIFT = 20;
+    static final int CHUNK = 1<<CHUNK_SHIFT;
+
+    private final int V;
+    private final long E;
+    private final LongArray offsets;
+    private final IntArray neighbors;
+
+    private OffHeapGraph(int V,long E,LongArray offsets,IntArray neighbors){
+        this.V=V;
+        this.E=E;
+        this.offsets=offsets;
+        this.neighbors=neighbors;
+    }
+
+    public OffHeapGraph(Graph graph){
+        this.V=graph.V();
+        this.E=graph.E();
+        this.offsets=new LongArray(V+1L);
+        long size=0;
+        for (int v = 0; v < V; v++) {
+            offsets.set(v,size);
+            size+=graph.adj[v].size();
+        }
+        offsets.set(V,size);
+        this.neighbors=new IntArray(size);
+        long i=0;
+        for (int v = 0; v < V; v++) {
+            for (int w:graph.adj[v]) neighbors.set(i++,w);
+        }
+    }
+
+    // reads the same format as Graph(In), buffering the edges off-heap
+    public static OffHeapGraph read(In in){
+        Builder builder=new Builder(in.readInt());
+        int E=in.readInt();
+        for (int i = 0; i < E; i++) builder.addEdge(in.readInt(),in.readInt());
+        return builder.build();
+    }
+
+    /**
+     * Collects edges in off-heap buffers and lays them out in CSR form with
+     * a counting sort, without any per-edge heap allocation.
+     */
+    public static class Builder {
+        private final int V;
+        private final IntArray edges=new IntArray(0);
+        private long E;
+
+        public Builder(int V){
+            if (V<0) throw new IllegalArgumentException("number of vertices must not be negative: "+V);
+            this.V=V;
+        }
+
+        public Builder addEdge(int v,int w){
+            validate(v,V);
+            validate(w,V);
+            edges.ensureCapacity(2*E+2);
+            edges.set(2*E,v);
+            edges.set(2*E+1,w);
+            E++;
+            return this;
+        }
+
+        public OffHeapGraph build(){
+            LongArray offsets=new LongArray(V+1L);
+            for (long i = 0; i < 2*E; i++) {
+                int v=edges.get(i);
+                offsets.set(v+1L,offsets.get(v+1L)+1);
+            }
+            for (int v = 0; v < V; v++) offsets.set(v+1L,offsets.get(v+1L)+offsets.get(v));
+            IntArray neighbors=new IntArray(2*E);
+            // offsets[v] serves as the insertion point of v and ends up at
+            // the old offsets[v+1], so the array is shifted back afterwards
+            for (long i = 0; i < E; i++) {
+                int v=edges.get(2*i),w=edges.get(2*i+1);
+                long p=offsets.get(v);
+                neighbors.set(p,w);
+                offsets.set(v,p+1);
+                p=offsets.get(w);
+                neighbors.set(p,v);
+                offsets.set(w,p+1);
+            }
+            for (int v = V; v > 0; v--) offsets.set(v,offsets.get(v-1));
+            offsets.set(0,0);
+            return new OffHeapGraph(V,E,offsets,neighbors);
+        }
+    }
+
+    private static void validate(int v,int V){
+        if (v<0||v>=V) throw new IllegalArgumentException("vertex "+v+" is not between 0 and "+(V-1));
+    }
+
+    public int V(){return V;}
+    public long E(){return E;}
+
+    public int degree(int v){
+        validate(v,V);
+        return (int)(offsets.get(v+1L)-offsets.get(v));
+    }
+
+    // i-th neighbour of v, for 0 <= i < degree(v)
+    public int neighbor(int v,int i){
+        if (i<0||i>=degree(v)) throw new IndexOutOfBoundsException("vertex "+v+" has no neighbour "+i);
+        return neighbors.get(offsets.get(v)+i);
+    }
+
+    public Iterable<Integer> adj(int v){
+        validate(v,V);
+        return () -> new Iterator<Integer>(){
+            private final PrimitiveIterator.OfInt cursor=neighbors(v);
+
+            @Override
+            public boolean hasNext(){return cursor.hasNext();}
+
+            @Override
+            public Integer next(){return cursor.nextInt();}
+        };
+    }
+
+    public PrimitiveIterator.OfInt neighbors(int v){
+        validate(v,V);
+        long from=offsets.get(v),to=offsets.get(v+1L);
+        return new PrimitiveIterator.OfInt(){
+            private long next=from;
+
+            @Override
+            public boolean hasNext(){return next<to;}
+
+            @Override
+            public int nextInt(){
+                if (next>=to) throw new NoSuchElementException();
+                return neighbors.get(next++);
+            }
+        };
+    }
+
+    public void forEachNeighbor(int v,IntConsumer action){
+        validate(v,V);
+        long to=offsets.get(v+1L);
+        for (long i = offsets.get(v); i < to; i++) action.accept(neighbors.get(i));
+    }
+
+    /**
+     * Copies the neighbours of v into the given array, which must hold
+     * degree(v) entries, and returns how many there are.
+     */
+    public int neighbors(int v,int[] into){
+        validate(v,V);
+        long from=offsets.get(v);
+        int n=(int)(offsets.get(v+1L)-from);
+        neighbors.copyTo(from,into,n);
+        return n;
+    }
+
+    private static ByteBuffer allocate(int entries,int bytes){
+        return ByteBuffer.allocateDirect(entries*bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static int chunks(long length){
+        long n=(length+CHUNK-1)>>>CHUNK_SHIFT;
+        if (n>Integer.MAX_VALUE) throw new IllegalArgumentException("array too large: "+length);
+        return (int)n;
+    }
+
+    // chunked off-heap int array, all chunks full but the last
+    private static class IntArray {
+        private IntBuffer[] chunks;
+        private long capacity;
+
+        IntArray(long length){
+            chunks=new IntBuffer[chunks(length)];
+            for (int c = 0; c < chunks.length; c++) {
+                int size=(int)Math.min(CHUNK,length-((long)c<<CHUNK_SHIFT));
+                chunks[c]=allocate(size,Integer.BYTES).asIntBuffer();
+            }
+            capacity=length;
+        }
+
+        int get(long i){
+            return chunks[(int)(i>>>CHUNK_SHIFT)].get((int)i&(CHUNK-1));
+        }
+
+        void set(long i,int value){
+            chunks[(int)(i>>>CHUNK_SHIFT)].put((int)i&(CHUNK-1),value);
+        }
+
+        void copyTo(long from,int[] into,int n){
+            int done=0;
+            while (done<n){
+                IntBuffer chunk=chunks[(int)((from+done)>>>CHUNK_SHIFT)];
+                int start=(int)(from+done)&(CHUNK-1);
+                int length=Math.min(n-done,CHUNK-start);
+                chunk.get(start,into,done,length);
+                done+=length;
+            }
+        }
+
+        // grows the last chunk by doubling up to CHUNK, then adds chunks
+        void ensureCapacity(long length){
+            if (length<=capacity) return;
+            int last=chunks.length-1;
+            if (last>=0&&chunks[last].capacity()<CHUNK){
+                int size=(int)Math.min(CHUNK,Math.max(2L*chunks[last].capacity(),length-((long)last<<CHUNK_SHIFT)));
+                IntBuffer grown=allocate(size,Integer.BYTES).asIntBuffer();
+                IntBuffer old=chunks[last].duplicate();
+                old.clear();
+                grown.put(old);
+                chunks[last]=grown;
+            }
+            int needed=chunks(length);
+            if (needed>chunks.length){
+                int from=chunks.length;
+                chunks=Arrays.copyOf(chunks,needed);
+                for (int c = from; c < needed; c++) {
+                    int size=c==needed-1?(int)Math.min(CHUNK,Math.max(16,length-((long)c<<CHUNK_SHIFT))):CHUNK;
+                    chunks[c]=allocate(size,Integer.BYTES).asIntBuffer();
+                }
+            }
+            capacity=0;
+            for (IntBuffer chunk:chunks) capacity+=chunk.capacity();
+        }
+    }
+
+    // chunked off-heap long array, zero-initialised
+    private static class LongArray {
+        private final LongBuffer[] chunks;
+
+        LongArray(long length){
+            chunks=new LongBuffer[chunks(length)];
+            for (int c = 0; c < chunks.length; c++) {
+                int size=(int)Math.min(CHUNK,length-((long)c<<CHUNK_SHIFT));
+                chunks[c]=allocate(size,Long.BYTES).asLongBuffer();
+            }
+        }
+
+        long get(long i){
+            return chunks[(int)(i>>>CHUNK_SHIFT)].get((int)i&(CHUNK-1));
+        }
+
+        void set(long i,long value){
+            chunks[(int)(i>>>CHUNK_SHIFT)].put((int)i&(CHUNK-1),value);
+        }
+    }
+}
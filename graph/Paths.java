@@ -0,0 +1,55 @@
+package graph;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Path reconstruction over a predecessor array, where precursor[v] is the
+ * vertex before v on its shortest path and -1 marks a vertex without one.
+ * Everything is iterative, so long paths cost O(L) and no stack.
+ */
+public final class Paths {
+
+    private Paths(){}
+
+    // number of vertices on the path from..to, both included
+    public static int length(int[] precursor,int from,int to){
+        int n=1;
+        for (int v=to;v!=from;v=precursor[v]){
+            if (precursor[v]<0) throw new IllegalArgumentException("vertex "+from+" is not on the path to "+to);
+            n++;
+        }
+        return n;
+    }
+
+    // vertices from..to in travel order, both included
+    public static int[] path(int[] precursor,int from,int to){
+        int[] path=new int[length(precursor,from,to)];
+        int v=to;
+        for (int i=path.length-1;i>=0;i--){
+            path[i]=v;
+            v=precursor[v];
+        }
+        return path;
+    }
+
+    // lazily walks the path from to back to from, both included
+    public static PrimitiveIterator.OfInt reverse(int[] precursor,int from,int to){
+        return new PrimitiveIterator.OfInt(){
+            private int next=to;
+
+            @Override
+            public boolean hasNext(){return next>=0;}
+
+            @Override
+            public int nextInt(){
+                if (next<0) throw new NoSuchElementException();
+                int v=next;
+                if (v==from) next=-1;
+                else if (precursor[v]<0) throw new IllegalArgumentException("vertex "+from+" is not on the path to "+to);
+                else next=precursor[v];
+                return v;
+            }
+        };
+    }
+}
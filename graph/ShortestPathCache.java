@@ -0,0 +1,138 @@
+package graph;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of Dijkstra results keyed by (source, destination).
+ * The least recently used entry is evicted once the capacity is exceeded,
+ * and all entries are dropped as soon as the graph version changes. On a
+ * plain Graph only addEdge changes the version; edges written straight into
+ * its public adj array are not noticed. Built on a DynamicGraph, the cache
+ * searches its latest snapshot and is invalidated by every commit; a cache
+ * built on a single snapshot never is. Searches use unit edge costs unless
+ * an EdgeWeight is given. Queries for unreachable destinations are not
+ * cached.
+ * All methods are thread-safe; searches run outside the lock. A plain Graph
+ * is not: it may only be changed by a single thread, and not while a search
+ * runs. DynamicGraph has no such restriction.
+ */
+public class ShortestPathCache {
+
+    private final Supplier<? extends GraphView> graph;
+    private final EdgeWeight weight;
+    private final int capacity;
+    private final LinkedHashMap<Long,Entry> entries;
+    private int cachedVersion;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ShortestPathCache(GraphView graph,int capacity){
+        this(() -> graph,capacity);
+    }
+
+    public ShortestPathCache(DynamicGraph graph,int capacity){
+        this(graph::snapshot,capacity);
+    }
+
+    public ShortestPathCache(Supplier<? extends GraphView> graph,int capacity){
+        this(graph,EdgeWeight.UNIT,capacity);
+    }
+
+    // the supplier must return graphs whose version changes whenever their edges do
+    public ShortestPathCache(Supplier<? extends GraphView> graph,EdgeWeight weight,int capacity){
+        if (capacity<1) throw new IllegalArgumentException("capacity must be positive: "+capacity);
+        this.graph=graph;
+        this.weight=weight;
+        this.capacity=capacity;
+        this.cachedVersion=graph.get().version();
+        this.entries=new LinkedHashMap<Long,Entry>(16,0.75f,true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long,Entry> eldest){
+                if (size()<=ShortestPathCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public int distance(int from,int to){
+        return lookup(from,to).distance;
+    }
+
+    /**
+     * Vertices after from up to and including to, as returned by
+     * Dijkstra.getPath; the list is unmodifiable.
+     */
+    public List<Integer> path(int from,int to){
+        return lookup(from,to).path;
+    }
+
+    private Entry lookup(int from,int to){
+        long key=((long)from<<32)|(to&0xffffffffL);
+        int version;
+        GraphView graph;
+        synchronized (this){
+            graph=validate();
+            Entry e=entries.get(key);
+            if (e!=null){
+                hits++;
+                return e;
+            }
+            misses++;
+            version=cachedVersion;
+        }
+        Dijkstra search=new Dijkstra(graph,from,to,weight);
+        Entry e=new Entry(search.getDistance(to),Collections.unmodifiableList(search.getPath(from,to)));
+        synchronized (this){
+            validate();
+            // a result computed on an older graph is returned but not cached
+            if (version==cachedVersion) entries.put(key,e);
+        }
+        return e;
+    }
+
+    // returns the graph the entries are valid for
+    private GraphView validate(){
+        GraphView current=graph.get();
+        if (current.version()!=cachedVersion){
+            if (!entries.isEmpty()) invalidations++;
+            entries.clear();
+            cachedVersion=current.version();
+        }
+        return current;
+    }
+
+    public synchronized void clear(){entries.clear();}
+
+    public synchronized int size(){
+        validate();
+        return entries.size();
+    }
+
+    public int capacity(){return capacity;}
+    public synchronized long hits(){return hits;}
+    public synchronized long misses(){return misses;}
+    public synchronized long evictions(){return evictions;}
+    public synchronized long invalidations(){return invalidations;}
+
+    public synchronized double hitRate(){
+        long total=hits+misses;
+        return total==0?0:(double)hits/total;
+    }
+
+    private static class Entry {
+        final int distance;
+        final List<Integer> path;
+
+        Entry(int distance,List<Integer> path){
+            this.distance=distance;
+            this.path=path;
+        }
+    }
+}
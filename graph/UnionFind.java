@@ -0,0 +1,82 @@
+package graph;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Lock-free union-find over the vertices 0 .. V-1.
+ * Parent links are only changed with compare-and-set: find compresses paths
+ * by halving (pointing a vertex to its grandparent), and union links the root
+ * with the lower index below the root with the higher index. Any number of
+ * threads may call find, union and connected concurrently.
+ */
+public class UnionFind {
+
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger count;
+
+    public UnionFind(int V){
+        parent=new AtomicIntegerArray(V);
+        for (int v = 0; v < V; v++) parent.set(v,v);
+        count=new AtomicInteger(V);
+    }
+
+    /**
+     * Union-find of the given edge list, with the edges absorbed in parallel.
+     */
+    public static UnionFind fromEdges(int V,int[] from,int[] to){
+        if (from.length!=to.length) throw new IllegalArgumentException("edge lists differ in length");
+        UnionFind uf=new UnionFind(V);
+        IntStream.range(0,from.length).parallel().forEach(i -> uf.union(from[i],to[i]));
+        return uf;
+    }
+
+    public static UnionFind fromGraph(Graph G){
+        UnionFind uf=new UnionFind(G.V());
+        IntStream.range(0,G.V()).parallel().forEach(v -> {
+            for (int w:G.adj[v]) if (v<w) uf.union(v,w);
+        });
+        return uf;
+    }
+
+    public int V(){return parent.length();}
+
+    public int find(int v){
+        while (true){
+            int p=parent.get(v);
+            if (p==v) return v;
+            int gp=parent.get(p);
+            if (gp!=p) parent.compareAndSet(v,p,gp);
+            v=gp;
+        }
+    }
+
+    /**
+     * Merge the sets of v and w; false if they were already in the same set.
+     */
+    public boolean union(int v,int w){
+        while (true){
+            int rv=find(v);
+            int rw=find(w);
+            if (rv==rw) return false;
+            if (rv>rw){ int t=rv; rv=rw; rw=t; }
+            if (parent.compareAndSet(rv,rv,rw)){
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int v,int w){
+        while (true){
+            int rv=find(v);
+            int rw=find(w);
+            if (rv==rw) return true;
+            // rv may have been linked meanwhile; only a root answers for sure
+            if (parent.get(rv)==rv) return false;
+        }
+    }
+
+    public int count(){return count.get();}
+}
@@ -0,0 +1,155 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Replays a fixed list of (source, target) queries against query engines
+ * and reports throughput and latency percentiles for each. A query that
+ * throws a RuntimeException, such as Dijkstra on an unreachable target, is
+ * timed and counted as failed; errors end the replay. main compares the
+ * engines of this package on a generated graph.
+ */
+public class WorkloadReplay {
+
+    // main skips the engines that take quadratic time on larger graphs
+    static final int QUADRATIC_LIMIT = 1<<12;
+
+    @FunctionalInterface
+    public interface Engine {
+        // the result is only kept so the query cannot be optimised away
+        long query(int source,int target);
+    }
+
+    private final int[] sources;
+    private final int[] targets;
+    private long sink;
+
+    public WorkloadReplay(int[] sources,int[] targets){
+        if (sources.length!=targets.length) throw new IllegalArgumentException("query arrays differ in length");
+        this.sources=sources.clone();
+        this.targets=targets.clone();
+    }
+
+    // queries between uniformly drawn vertices
+    public static WorkloadReplay random(int V,int queries,long seed){
+        if (V<=0) throw new IllegalArgumentException("graph has no vertices");
+        Random random=new Random(seed);
+        int[] sources=new int[queries],targets=new int[queries];
+        for (int i = 0; i < queries; i++) {
+            sources[i]=random.nextInt(V);
+            targets[i]=random.nextInt(V);
+        }
+        return new WorkloadReplay(sources,targets);
+    }
+
+    public int size(){return sources.length;}
+
+    /**
+     * Runs the whole workload warmup times untimed, then once timed.
+     */
+    public Report replay(String name,Engine engine,int warmup){
+        for (int round = 0; round < warmup; round++) {
+            for (int i = 0; i < sources.length; i++) run(engine,i);
+        }
+        long[] latencies=new long[sources.length];
+        int failures=0;
+        long start=System.nanoTime();
+        for (int i = 0; i < sources.length; i++) {
+            long t0=System.nanoTime();
+            if (!run(engine,i)) failures++;
+            latencies[i]=System.nanoTime()-t0;
+        }
+        long elapsed=System.nanoTime()-start;
+        return new Report(name,latencies,elapsed,failures);
+    }
+
+    private boolean run(Engine engine,int i){
+        try {
+            sink+=engine.query(sources[i],targets[i]);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public static class Report {
+        private final String engine;
+        private final int queries;
+        private final int failures;
+        private final long elapsedNanos;
+        private final long[] sorted;
+
+        Report(String engine,long[] latencies,long elapsedNanos,int failures){
+            this.engine=engine;
+            this.queries=latencies.length;
+            this.failures=failures;
+            this.elapsedNanos=elapsedNanos;
+            this.sorted=latencies.clone();
+            Arrays.sort(sorted);
+        }
+
+        public String engine(){return engine;}
+        public int queries(){return queries;}
+        public int failures(){return failures;}
+
+        public double throughput(){
+            return elapsedNanos==0?0:queries*1e9/elapsedNanos;
+        }
+
+        // latency in nanoseconds below which the given fraction of queries fall
+        public long percentile(double p){
+            if (p<0||p>1) throw new IllegalArgumentException("percentile must be between 0 and 1: "+p);
+            if (sorted.length==0) return 0;
+            int index=(int)Math.ceil(p*sorted.length)-1;
+            return sorted[Math.max(0,index)];
+        }
+
+        public long p50(){return percentile(0.50);}
+        public long p99(){return percentile(0.99);}
+
+        @Override
+        public String toString(){
+            return String.format("%-20s %8d queries %6d failed %12.1f q/s  p50 %10.3f ms  p99 %10.3f ms",
+                    engine,queries,failures,throughput(),p50()/1e6,p99()/1e6);
+        }
+    }
+
+    /**
+     * Usage: WorkloadReplay [grid|geometric|rmat|path] [size] [queries] [seed]
+     * where size is the side of a grid, the R-MAT scale, or the number of
+     * vertices otherwise. Dijkstra and ShortestPathCache, which scan all
+     * vertices per settled vertex, only run up to QUADRATIC_LIMIT vertices.
+     */
+    public static void main(String[] args){
+        String kind=args.length>0?args[0]:"grid";
+        int size=args.length>1?Integer.parseInt(args[1]):60;
+        int queries=args.length>2?Integer.parseInt(args[2]):200;
+        long seed=args.length>3?Long.parseLong(args[3]):42;
+        Graph graph;
+        switch (kind) {
+            case "grid": graph=GraphGenerators.grid(size,size); break;
+            case "geometric": graph=GraphGenerators.randomGeometric(size,Math.sqrt(8.0/(Math.PI*size)),seed); break;
+            case "rmat": graph=GraphGenerators.rmat(size,8,seed); break;
+            case "path": graph=GraphGenerators.path(size); break;
+            default: throw new IllegalArgumentException("unknown graph kind: "+kind);
+        }
+        System.out.println(kind+": "+graph.V()+" vertices, "+graph.E()+" edges");
+        WorkloadReplay workload=random(graph.V(),queries,seed);
+        DistanceMatrix matrix=new DistanceMatrix(graph);
+        ContractionHierarchy hierarchy=new ContractionHierarchy(graph);
+        DeltaStepping deltaStepping=new DeltaStepping(graph);
+        // holds the whole workload, so the timed round measures cache hits
+        ShortestPathCache cache=new ShortestPathCache(graph,Math.max(1,queries));
+        int warmup=1;
+        System.out.println(workload.replay("DFS",(s,t) -> new DFS(graph,s).marked(t)?1:0,warmup));
+        boolean quadratic=graph.V()<=QUADRATIC_LIMIT;
+        if (quadratic) System.out.println(workload.replay("Dijkstra",(s,t) -> new Dijkstra(graph,s,t).getDistance(t),warmup));
+        else System.out.println("Dijkstra skipped: more than "+QUADRATIC_LIMIT+" vertices");
+        System.out.println(workload.replay("DistanceMatrix",(s,t) -> matrix.oneToMany(s,new int[]{t})[0],warmup));
+        System.out.println(workload.replay("ContractionHierarchy",hierarchy::distance,warmup));
+        System.out.println(workload.replay("DeltaStepping",(s,t) -> deltaStepping.distancesFrom(s)[t],warmup));
+        if (quadratic) System.out.println(workload.replay("ShortestPathCache",cache::distance,warmup));
+        else System.out.println("ShortestPathCache skipped: more than "+QUADRATIC_LIMIT+" vertices");
+    }
+}
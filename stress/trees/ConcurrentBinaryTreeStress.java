@@ -0,0 +1,249 @@
+package trees;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A class of stress runs for concurrent binary trees.
+ *		Several writer threads add and remove elements in a single
+ *		concurrent binary tree, while reader threads keep inspecting its
+ *		snapshots. Each writer owns a disjoint range of integers. It adds
+ *		the integers of its range in ascending order, and removes them in
+ *		the same order once a fixed number of them is present. Every state
+ *		the tree passes through thus holds, for each writer, a contiguous
+ *		window of its range, which is one larger than the fixed number
+ *		between an addition and the removal that follows it. A lost update
+ *		or a torn snapshot breaks that window.
+ *		Readers check each snapshot they take: its cached number of
+ *		elements must match an iteration over it, each writer's elements
+ *		must form a window that is not larger than allowed, and a
+ *		second iteration over the same snapshot must return the same
+ *		elements in the same order.
+ *		At the end, the tree must hold exactly the last window of each
+ *		writer.
+ *		The run is started from the command line with the optional
+ *		arguments [writers] [readers] [operations per writer] [window].
+ *		It prints a summary, and exits with status 1 on the first
+ *		violation. The class lives in the stress source tree, next to
+ *		but apart from the production sources of this package.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public final class ConcurrentBinaryTreeStress {
+
+	/**
+	 * Initialize this new stress run with the given parameters.
+	 *
+	 * @param  nbWriters
+	 *         The number of writer threads.
+	 * @param  nbReaders
+	 *         The number of reader threads.
+	 * @param  nbOperations
+	 *         The number of additions per writer thread.
+	 * @param  window
+	 *         The number of elements each writer keeps in the tree.
+	 * @throws IllegalArgumentException
+	 *         Some of the given numbers are not positive.
+	 *       | (nbWriters <= 0) || (nbReaders < 0) ||
+	 *       | (nbOperations <= 0) || (window <= 0)
+	 */
+	public ConcurrentBinaryTreeStress(int nbWriters, int nbReaders,
+			int nbOperations, int window) throws IllegalArgumentException {
+		if ((nbWriters <= 0) || (nbReaders < 0) || (nbOperations <= 0)
+				|| (window <= 0))
+			throw new IllegalArgumentException();
+		this.nbWriters = nbWriters;
+		this.nbReaders = nbReaders;
+		this.nbOperations = nbOperations;
+		this.window = window;
+	}
+
+	/**
+	 * Variables registering the parameters of this stress run.
+	 */
+	private final int nbWriters, nbReaders, nbOperations, window;
+
+	/**
+	 * Variable referencing the tree under stress.
+	 */
+	private final ConcurrentBinaryTree tree = new ConcurrentBinaryTree();
+
+	/**
+	 * Variable referencing the description of the first violation that
+	 * was observed, if any.
+	 */
+	private final AtomicReference<String> failure = new AtomicReference<String>();
+
+	/**
+	 * Variable registering the number of snapshots checked by readers.
+	 */
+	private final AtomicLong nbCheckedSnapshots = new AtomicLong();
+
+	/**
+	 * Run this stress test.
+	 *
+	 * @return The description of the first violation that was observed,
+	 *         or the null reference if there was none.
+	 * @throws InterruptedException
+	 *         The current thread was interrupted while waiting for the
+	 *         writers and readers.
+	 */
+	public String run() throws InterruptedException {
+		AtomicBoolean writing = new AtomicBoolean(true);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> writers = new ArrayList<Thread>();
+		List<Thread> readers = new ArrayList<Thread>();
+		for (int w = 0; w < nbWriters; w++) {
+			int writer = w;
+			writers.add(new Thread(() -> {
+				await(start);
+				write(writer);
+			}, "writer-" + w));
+		}
+		for (int r = 0; r < nbReaders; r++)
+			readers.add(new Thread(() -> {
+				await(start);
+				do
+					check(tree.getSnapshot());
+				while (writing.get() && (failure.get() == null));
+			}, "reader-" + r));
+		for (Thread thread : writers)
+			thread.start();
+		for (Thread thread : readers)
+			thread.start();
+		start.countDown();
+		for (Thread thread : writers)
+			thread.join();
+		writing.set(false);
+		for (Thread thread : readers)
+			thread.join();
+		if (failure.get() == null)
+			checkFinal(tree.getSnapshot());
+		return failure.get();
+	}
+
+	/**
+	 * Return the number of snapshots checked by the readers of this
+	 * stress run.
+	 */
+	public long getNbCheckedSnapshots() {
+		return nbCheckedSnapshots.get();
+	}
+
+	/**
+	 * Add and remove the elements of the given writer.
+	 */
+	private void write(int writer) {
+		int base = writer * nbOperations;
+		for (int i = 0; (i < nbOperations) && (failure.get() == null); i++) {
+			tree.addElement(base + i);
+			if ((i >= window) && (tree.tryRemoveElement(base + i - window) == null))
+				fail("writer " + writer + " lost element " + (base + i - window));
+		}
+	}
+
+	/**
+	 * Check the consistency of the given snapshot.
+	 */
+	private void check(BinaryTree snapshot) {
+		int[] low = new int[nbWriters], high = new int[nbWriters], count = new int[nbWriters];
+		Arrays.fill(low, Integer.MAX_VALUE);
+		Arrays.fill(high, Integer.MIN_VALUE);
+		List<Object> elements = new ArrayList<Object>();
+		int nbElements = 0;
+		for (Object element : snapshot) {
+			elements.add(element);
+			int value = (Integer) element;
+			int writer = value / nbOperations;
+			low[writer] = Math.min(low[writer], value);
+			high[writer] = Math.max(high[writer], value);
+			count[writer]++;
+			nbElements++;
+		}
+		if (nbElements != snapshot.getNbElements())
+			fail("snapshot caches " + snapshot.getNbElements()
+					+ " elements but iterates over " + nbElements);
+		for (int w = 0; w < nbWriters; w++) {
+			if (count[w] == 0)
+				continue;
+			if ((high[w] - low[w] + 1 != count[w]) || (count[w] > window + 1))
+				fail("writer " + w + " has " + count[w] + " elements in ["
+						+ low[w] + "," + high[w] + "]");
+			if (!snapshot.hasAsElement(low[w]) || !snapshot.hasAsElement(high[w]))
+				fail("snapshot lost elements of writer " + w + " while read");
+		}
+		Iterator<Object> again = snapshot.iterator();
+		for (Object element : elements)
+			if (!again.hasNext() || !element.equals(again.next()))
+				fail("second iteration differs from the first");
+		if (again.hasNext())
+			fail("second iteration returns more elements than the first");
+		nbCheckedSnapshots.incrementAndGet();
+	}
+
+	/**
+	 * Check that the given snapshot holds exactly the last window of each
+	 * writer.
+	 */
+	private void checkFinal(BinaryTree snapshot) {
+		int kept = Math.min(window, nbOperations);
+		if (snapshot.getNbElements() != nbWriters * kept)
+			fail("final tree has " + snapshot.getNbElements()
+					+ " elements instead of " + (nbWriters * kept));
+		for (int w = 0; w < nbWriters; w++)
+			for (int i = nbOperations - kept; i < nbOperations; i++)
+				if (snapshot.getNbOccurrencesOf(w * nbOperations + i) != 1)
+					fail("final tree lacks element " + (w * nbOperations + i));
+	}
+
+	/**
+	 * Register the given violation, unless another one was registered
+	 * before.
+	 */
+	private void fail(String message) {
+		failure.compareAndSet(null, message);
+	}
+
+	/**
+	 * Wait until the given latch is opened.
+	 */
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Run a stress test with the parameters given on the command line.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		int nbWriters = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+		int nbReaders = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+		int nbOperations = (args.length > 2) ? Integer.parseInt(args[2]) : 20000;
+		int window = (args.length > 3) ? Integer.parseInt(args[3]) : 64;
+		ConcurrentBinaryTreeStress stress = new ConcurrentBinaryTreeStress(
+				nbWriters, nbReaders, nbOperations, window);
+		long start = System.nanoTime();
+		String failure = stress.run();
+		long millis = (System.nanoTime() - start) / 1000000;
+		System.out.println(nbWriters + " writers, " + nbReaders + " readers, "
+				+ nbOperations + " additions per writer, "
+				+ stress.getNbCheckedSnapshots() + " snapshots checked in "
+				+ millis + " ms");
+		if (failure != null) {
+			System.out.println("FAILED: " + failure);
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+}
@@ -0,0 +1,495 @@
+package trees;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of binary trees storing their nodes in parallel arrays.
+ *		Each node of an array binary tree occupies a slot in an array of
+ *		elements, complemented with the indices of its left and right child
+ *		and the number of elements in the subtree rooted at that node. No
+ *		object is allocated per element, and slots of removed nodes are
+ *		reused by means of a free list chained through the array of left
+ *		children. Elements are added to the subtree with the smallest number
+ *		of elements, such that the height of the tree stays logarithmic.
+ *
+ * @invar   The number of elements of each array binary tree is the number
+ *          of slots in use.
+ *        | getNbElements() ==
+ *        |   card({ slot in 0..getCapacity()-1: isUsedSlot(slot) })
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class ArrayBinaryTree extends BinaryTree {
+
+	/**
+	 * Initialize this new array binary tree with given elements.
+	 *
+	 * @param  elements
+	 *         The elements to be stored in this new array binary tree.
+	 * @post   The number of occurrences of each object in this new array
+	 *         binary tree is equal to the number of occurrences of that
+	 *         element in the given array of elements.
+	 *       | for each element in (Object union {null}):
+	 *       |   (new.getNbOccurrencesOf(element) ==
+	 *       |        ExtArray.getNbOcurrencesOf(elements,element))
+	 */
+	public ArrayBinaryTree(Object... elements) {
+		int capacity = Math.max(INITIAL_CAPACITY, elements.length);
+		this.elements = new Object[capacity];
+		this.leftChildren = new int[capacity];
+		this.rightChildren = new int[capacity];
+		this.sizes = new int[capacity];
+		for (Object element : elements)
+			addElement(element);
+	}
+
+	/**
+	 * Constant reflecting the number of slots of a new array binary tree
+	 * without any elements.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Constant reflecting the index used for missing children.
+	 */
+	private static final int NO_NODE = -1;
+
+	/**
+	 * Return the number of slots of this array binary tree.
+	 */
+	@Basic
+	public int getCapacity() {
+		return elements.length;
+	}
+
+	/**
+	 * Check whether the given slot of this array binary tree is in use.
+	 *
+	 * @param  slot
+	 *         The slot to check.
+	 * @return True if and only if the given slot is the root of a subtree
+	 *         with at least one element.
+	 *       | result == (getSizeOf(slot) > 0)
+	 */
+	private boolean isUsedSlot(int slot) {
+		return sizes[slot] > 0;
+	}
+
+	/**
+	 * Return the number of elements in the subtree rooted at the given slot.
+	 *
+	 * @param  slot
+	 *         The slot to inspect.
+	 * @return Zero if the given slot does not reference a node.
+	 *       | if (slot == NO_NODE)
+	 *       |   then result == 0
+	 */
+	private int getSizeOf(int slot) {
+		return (slot == NO_NODE) ? 0 : sizes[slot];
+	}
+
+	/**
+	 * Return the number of occurrences of the given element in this array
+	 * binary tree.
+	 *
+	 * @note   The slots are scanned sequentially, rather than following the
+	 *         structure of the tree.
+	 */
+	@Override
+	public int getNbOccurrencesOf(Object element) {
+		int nbOccurrences = 0;
+		for (int slot = 0; slot < highestSlot; slot++)
+			if (isUsedSlot(slot) && equal(elements[slot], element))
+				nbOccurrences++;
+		return nbOccurrences;
+	}
+
+	/**
+	 * Check whether the given elements are equal.
+	 *
+	 * @return True if and only if both elements are the null reference,
+	 *         or if the first element is effective and equal to the second
+	 *         element.
+	 *       | result == ( (first == null) ? (second == null) :
+	 *       |             first.equals(second) )
+	 */
+	private static boolean equal(Object first, Object second) {
+		return (first == null) ? (second == null) : first.equals(second);
+	}
+
+	/**
+	 * Check whether this array binary tree can have occurrences of the
+	 * given element.
+	 */
+	@Override
+	public boolean canHaveAsElement(Object element) {
+		return true;
+	}
+
+	/**
+	 * Check whether this array binary tree has the given element as one
+	 * of its elements.
+	 */
+	@Override
+	public boolean hasAsElement(Object element) {
+		// Re-implementation for reasons of efficiency.
+		return findSlotOf(element) != NO_NODE;
+	}
+
+	/**
+	 * Return a slot of this array binary tree storing the given element.
+	 *
+	 * @param  element
+	 *         The element to look for.
+	 * @return NO_NODE if this array binary tree does not have the given
+	 *         element as one of its elements; otherwise a used slot storing
+	 *         that element.
+	 */
+	private int findSlotOf(Object element) {
+		for (int slot = 0; slot < highestSlot; slot++)
+			if (isUsedSlot(slot) && equal(elements[slot], element))
+				return slot;
+		return NO_NODE;
+	}
+
+	/**
+	 * Return the total number of elements in this array binary tree.
+	 */
+	@Override
+	public int getNbElements() {
+		return getSizeOf(root);
+	}
+
+	/**
+	 * Add the given element to this array binary tree.
+	 *
+	 * @return This array binary tree.
+	 *       | result == this
+	 */
+	@Override
+	public ArrayBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this);
+		int slot = allocateSlot();
+		elements[slot] = element;
+		leftChildren[slot] = NO_NODE;
+		rightChildren[slot] = NO_NODE;
+		sizes[slot] = 1;
+		if (root == NO_NODE) {
+			root = slot;
+			return this;
+		}
+		int node = root;
+		while (true) {
+			sizes[node]++;
+			if (getSizeOf(leftChildren[node]) <= getSizeOf(rightChildren[node])) {
+				if (leftChildren[node] == NO_NODE) {
+					leftChildren[node] = slot;
+					return this;
+				}
+				node = leftChildren[node];
+			}
+			else {
+				if (rightChildren[node] == NO_NODE) {
+					rightChildren[node] = slot;
+					return this;
+				}
+				node = rightChildren[node];
+			}
+		}
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this array binary
+	 * tree.
+	 *
+	 * @return This array binary tree.
+	 *       | result == this
+	 * @note   The element to be removed is overwritten with the element of
+	 *         a leaf reached by descending into the largest subtrees, after
+	 *         which that leaf is released.
+	 */
+	@Override
+	public ArrayBinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		if (tryRemoveElement(element) == null)
+			throw new IllegalElementException(element, this, false);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this array binary
+	 * tree, if it has the given element as one of its elements.
+	 *
+	 * @return The null reference if this array binary tree does not have
+	 *         the given element as one of its elements; this array binary
+	 *         tree otherwise.
+	 */
+	@Override
+	public ArrayBinaryTree tryRemoveElement(Object element) {
+		int slot = findSlotOf(element);
+		if (slot == NO_NODE)
+			return null;
+		int parent = NO_NODE;
+		int node = root;
+		while ((leftChildren[node] != NO_NODE) || (rightChildren[node] != NO_NODE)) {
+			sizes[node]--;
+			parent = node;
+			if (getSizeOf(leftChildren[node]) >= getSizeOf(rightChildren[node]))
+				node = leftChildren[node];
+			else
+				node = rightChildren[node];
+		}
+		elements[slot] = elements[node];
+		if (parent == NO_NODE)
+			root = NO_NODE;
+		else if (leftChildren[parent] == node)
+			leftChildren[parent] = NO_NODE;
+		else
+			rightChildren[parent] = NO_NODE;
+		releaseSlot(node);
+		return this;
+	}
+
+	/**
+	 * Return a free slot of this array binary tree, growing its arrays
+	 * if all slots are in use.
+	 */
+	private int allocateSlot() {
+		if (firstFreeSlot != NO_NODE) {
+			int slot = firstFreeSlot;
+			firstFreeSlot = leftChildren[slot];
+			return slot;
+		}
+		if (highestSlot == getCapacity()) {
+			int capacity = 2 * getCapacity();
+			elements = Arrays.copyOf(elements, capacity);
+			leftChildren = Arrays.copyOf(leftChildren, capacity);
+			rightChildren = Arrays.copyOf(rightChildren, capacity);
+			sizes = Arrays.copyOf(sizes, capacity);
+		}
+		return highestSlot++;
+	}
+
+	/**
+	 * Add the given slot to the free list of this array binary tree.
+	 *
+	 * @param  slot
+	 *         The slot to release.
+	 */
+	private void releaseSlot(int slot) {
+		elements[slot] = null;
+		sizes[slot] = 0;
+		leftChildren[slot] = firstFreeSlot;
+		firstFreeSlot = slot;
+	}
+
+	/**
+	 * Variable referencing the array of elements stored in the slots of
+	 * this array binary tree.
+	 */
+	private Object[] elements;
+
+	/**
+	 * Variable referencing the array of left children of the slots of this
+	 * array binary tree. For free slots, the next free slot is registered.
+	 */
+	private int[] leftChildren;
+
+	/**
+	 * Variable referencing the array of right children of the slots of this
+	 * array binary tree.
+	 */
+	private int[] rightChildren;
+
+	/**
+	 * Variable referencing the array of subtree sizes of the slots of this
+	 * array binary tree. Free slots have size zero.
+	 */
+	private int[] sizes;
+
+	/**
+	 * Variable registering the slot of the root of this array binary tree.
+	 */
+	private int root = NO_NODE;
+
+	/**
+	 * Variable registering the first slot in the free list of this array
+	 * binary tree.
+	 */
+	private int firstFreeSlot = NO_NODE;
+
+	/**
+	 * Variable registering the number of slots of this array binary tree
+	 * that have ever been used.
+	 */
+	private int highestSlot = 0;
+
+	/**
+	 * Check whether this array binary tree has the given tree as a direct
+	 * or indirect subtree.
+	 *
+	 * @return Always false; the subtrees of an array binary tree are not
+	 *         represented as separate trees.
+	 *       | result == false
+	 */
+	@Override
+	protected boolean hasAsSubTree(BinaryTree tree) {
+		return false;
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this array binary
+	 * tree in in-order.
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return new Iterator<Object>() {
+
+			private final int[] pending = new int[getHeight()];
+
+			private int nbPending = 0;
+
+			{
+				pushLeftPath(root);
+			}
+
+			private void pushLeftPath(int node) {
+				while (node != NO_NODE) {
+					pending[nbPending++] = node;
+					node = leftChildren[node];
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return nbPending > 0;
+			}
+
+			@Override
+			public Object next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int node = pending[--nbPending];
+				pushLeftPath(rightChildren[node]);
+				return elements[node];
+			}
+
+		};
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this array binary
+	 * tree in pre-order.
+	 */
+	@Override
+	public Iterator<Object> preOrderIterator() {
+		return new Iterator<Object>() {
+
+			private final int[] pending = new int[getHeight() + 1];
+
+			private int nbPending = 0;
+
+			{
+				if (root != NO_NODE)
+					pending[nbPending++] = root;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return nbPending > 0;
+			}
+
+			@Override
+			public Object next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int node = pending[--nbPending];
+				if (rightChildren[node] != NO_NODE)
+					pending[nbPending++] = rightChildren[node];
+				if (leftChildren[node] != NO_NODE)
+					pending[nbPending++] = leftChildren[node];
+				return elements[node];
+			}
+
+		};
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this array binary
+	 * tree in level-order.
+	 */
+	@Override
+	public Iterator<Object> levelOrderIterator() {
+		return new Iterator<Object>() {
+
+			private final int[] pending = new int[getNbElements()];
+
+			private int nbQueued = 0;
+
+			private int nbVisited = 0;
+
+			{
+				if (root != NO_NODE)
+					pending[nbQueued++] = root;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return nbVisited < nbQueued;
+			}
+
+			@Override
+			public Object next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int node = pending[nbVisited++];
+				if (leftChildren[node] != NO_NODE)
+					pending[nbQueued++] = leftChildren[node];
+				if (rightChildren[node] != NO_NODE)
+					pending[nbQueued++] = rightChildren[node];
+				return elements[node];
+			}
+
+		};
+	}
+
+	/**
+	 * Return a spliterator over all the elements of this array binary tree.
+	 *
+	 * @return The resulting spliterator scans the slots of this array
+	 *         binary tree sequentially, and splits ranges of slots.
+	 */
+	@Override
+	public Spliterator<Object> spliterator() {
+		return IntStream.range(0, highestSlot).filter(this::isUsedSlot)
+				.mapToObj(slot -> elements[slot]).spliterator();
+	}
+
+	/**
+	 * Return the height of this array binary tree.
+	 *		The height is the number of nodes on the longest path from the
+	 *		root of this array binary tree to one of its leaves.
+	 *
+	 * @note   Additions descend into the smallest subtree and removals into
+	 *         the largest subtree, such that the sizes of both subtrees of
+	 *         each node differ at most by one. The height therefore follows
+	 *         from the number of elements.
+	 */
+	public int getHeight() {
+		int height = 0;
+		for (int nbElements = getNbElements(); nbElements > 0; nbElements /= 2)
+			height++;
+		return height;
+	}
+
+}
@@ -0,0 +1,138 @@
+package trees;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import trees.exceptions.*;
+
+/**
+ * A class of tasks building perfectly balanced binary trees from arrays
+ *		of elements.
+ *		The element in the middle of a range of the array is stored in the
+ *		root, the elements before it in the left subtree and the elements
+ *		after it in the right subtree. Each element is visited exactly once,
+ *		such that a tree with n elements is built in O(n) time. Large ranges
+ *		build their left and right subtrees in parallel.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+@SuppressWarnings("serial")
+class BalancedTreeBuilder extends RecursiveTask<BinaryTree> {
+
+	/**
+	 * Return a perfectly balanced binary tree storing the given elements.
+	 *
+	 * @param  elements
+	 *         The elements to store.
+	 * @param  sorted
+	 *         True if the resulting tree must be a sorted binary tree; the
+	 *         given elements must then be sorted in ascending order.
+	 * @return An empty tree if no elements are given, a leaf tree if a
+	 *         single element is given, and a composed tree otherwise.
+	 */
+	static BinaryTree build(Object[] elements, boolean sorted)
+			throws IllegalElementException {
+		return build(elements, 0, elements.length, sorted);
+	}
+
+	/**
+	 * Return a perfectly balanced binary tree storing the elements of the
+	 * given array between the given indices.
+	 *
+	 * @param  elements
+	 *         The array of elements to build a tree for.
+	 * @param  from
+	 *         The index of the first element to store (inclusive).
+	 * @param  to
+	 *         The index of the last element to store (exclusive).
+	 * @param  sorted
+	 *         True if the resulting tree must be a sorted binary tree; the
+	 *         given elements must then be sorted in ascending order.
+	 */
+	static BinaryTree build(Object[] elements, int from, int to,
+			boolean sorted) throws IllegalElementException {
+		BalancedTreeBuilder builder = new BalancedTreeBuilder(elements, from,
+				to, sorted);
+		if (to - from < PARALLEL_THRESHOLD)
+			return builder.compute();
+		return ForkJoinPool.commonPool().invoke(builder);
+	}
+
+	/**
+	 * Initialize this new builder for the elements of the given array
+	 * between the given indices.
+	 *
+	 * @param  elements
+	 *         The array of elements to build a tree for.
+	 * @param  from
+	 *         The index of the first element to store (inclusive).
+	 * @param  to
+	 *         The index of the last element to store (exclusive).
+	 * @param  sorted
+	 *         True if the tree to build must be a sorted binary tree.
+	 */
+	BalancedTreeBuilder(Object[] elements, int from, int to, boolean sorted) {
+		this.elements = elements;
+		this.from = from;
+		this.to = to;
+		this.sorted = sorted;
+	}
+
+	/**
+	 * Constant reflecting the minimal number of elements for which the
+	 * subtrees of a tree are built in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 14;
+
+	/**
+	 * Variable referencing the array of elements to build a tree for.
+	 */
+	private final Object[] elements;
+
+	/**
+	 * Variable registering the index of the first element to store.
+	 */
+	private final int from;
+
+	/**
+	 * Variable registering the index following the last element to store.
+	 */
+	private final int to;
+
+	/**
+	 * Variable registering whether the tree to build is a sorted tree.
+	 */
+	private final boolean sorted;
+
+	@Override
+	protected BinaryTree compute() throws IllegalElementException {
+		if (from == to)
+			return sorted ? EmptySortedBinaryTree.getPrototype()
+					: EmptyBinaryTree.getPrototype();
+		if (to - from == 1)
+			return sorted ? new LeafSortedBinaryTree(elements[from])
+					: new LeafBinaryTree(elements[from]);
+		int middleIndex = from + (to - from) / 2;
+		BalancedTreeBuilder leftBuilder = new BalancedTreeBuilder(elements,
+				from, middleIndex, sorted);
+		BalancedTreeBuilder rightBuilder = new BalancedTreeBuilder(elements,
+				middleIndex + 1, to, sorted);
+		BinaryTree leftTree, rightTree;
+		if (to - from >= PARALLEL_THRESHOLD) {
+			leftBuilder.fork();
+			rightTree = rightBuilder.compute();
+			leftTree = leftBuilder.join();
+		}
+		else {
+			leftTree = leftBuilder.compute();
+			rightTree = rightBuilder.compute();
+		}
+		if (sorted)
+			return new ComposedSortedBinaryTree(elements[middleIndex],
+					leftTree, rightTree);
+		return new ComposedBinaryTree(elements[middleIndex], leftTree,
+				rightTree);
+	}
+
+}
@@ -1,5 +1,15 @@
 package trees;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import be.kuleuven.cs.som.annotate.*;
 import trees.exceptions.*;
 
@@ -18,7 +28,37 @@ import trees.exceptions.*;
  * @version  2.0
  * @author   Eric Steegmans
  */
-public abstract class BinaryTree {
+public abstract class BinaryTree implements Iterable<Object> {
+
+	/**
+	 * Return a perfectly balanced binary tree storing the given elements.
+	 *
+	 * @param  elements
+	 *         The elements to be stored in the resulting tree.
+	 * @return An empty binary tree if no elements are given, a binary leaf
+	 *         tree if a single element is given, and a composed binary
+	 *         tree otherwise.
+	 *       | if (elements.length == 0)
+	 *       |   then result == EmptyBinaryTree.getPrototype()
+	 *       | if (elements.length == 1)
+	 *       |   then result instanceof LeafBinaryTree
+	 *       | if (elements.length > 1)
+	 *       |   then result instanceof ComposedBinaryTree
+	 * @return The number of occurrences of each object in the resulting
+	 *         tree is equal to the number of occurrences of that object
+	 *         in the given array of elements.
+	 *       | for each element in (Object union {null}):
+	 *       |   (result.getNbOccurrencesOf(element) ==
+	 *       |        ExtArray.getNbOcurrencesOf(elements,element))
+	 * @note   The tree is built in linear time, by storing the middle
+	 *         element in the root and building both subtrees from the
+	 *         elements on either side of it. Large subtrees are built
+	 *         in parallel.
+	 */
+	public static BinaryTree fromElements(Object... elements)
+			throws IllegalElementException {
+		return BalancedTreeBuilder.build(elements, false);
+	}
 
 	/**
 	 * Initialize this new binary tree with no elements.
@@ -91,6 +131,65 @@ public abstract class BinaryTree {
 		return (getNbOccurrencesOf(element) > 0);
 	}
 
+	/**
+	 * Check whether this binary tree has the given element as one of its
+	 * elements, searching different parts of this tree in parallel.
+	 *
+	 * @return The same result as a sequential search.
+	 *       | result == hasAsElement(element)
+	 * @note   Parallel searches only pay off for very large trees. Searching
+	 *         stops in all parts of this tree as soon as the given element
+	 *         is found in one of them.
+	 */
+	public boolean hasAsElementInParallel(Object element) {
+		return hasAsElement(element);
+	}
+
+	/**
+	 * Return the number of elements in this binary tree satisfying the
+	 * given predicate.
+	 *
+	 * @param  predicate
+	 *         The predicate to check on each element.
+	 * @return The number of elements of this binary tree for which the
+	 *         given predicate is true, each element counted as many times
+	 *         as it occurs in this binary tree.
+	 * @note   Different parts of large trees are counted in parallel, such
+	 *         that the given predicate must be safe to evaluate concurrently.
+	 */
+	public int count(Predicate<Object> predicate) {
+		int count = 0;
+		for (Object element : this)
+			if (predicate.test(element))
+				count++;
+		return count;
+	}
+
+	/**
+	 * Return the reduction of the elements of this binary tree.
+	 *
+	 * @param  identity
+	 *         The identity value for the given combiner.
+	 * @param  accumulator
+	 *         The function folding an element into a partial result.
+	 * @param  combiner
+	 *         The function combining two partial results.
+	 * @return The given identity if this binary tree is empty; otherwise
+	 *         the result of folding all elements of this binary tree in
+	 *         in-order into the given identity.
+	 * @note   As for the reductions of streams, the given identity must be
+	 *         an identity for the given combiner, and the given combiner
+	 *         must be associative and compatible with the given accumulator.
+	 *         Different parts of large trees are reduced in parallel.
+	 */
+	public <R> R reduce(R identity, BiFunction<R, Object, R> accumulator,
+			BinaryOperator<R> combiner) {
+		R result = identity;
+		for (Object element : this)
+			result = accumulator.apply(result, element);
+		return result;
+	}
+
 	/**
 	 * Return the total number of elements in this binary tree.
 	 *
@@ -176,6 +275,97 @@ public abstract class BinaryTree {
 	public abstract BinaryTree removeElement(Object element)
 			throws IllegalElementException;
 
+	/**
+	 * Remove one occurrence of the given element from this binary tree,
+	 * if it has the given element as one of its elements.
+	 *
+	 * @param  element
+	 *         The element for which one occurrence must be removed.
+	 * @return The null reference if this binary tree does not have the
+	 *         given element as one of its elements; in that case this
+	 *         binary tree is left untouched.
+	 *       | if (! hasAsElement(element))
+	 *       |   then result == null
+	 * @effect Otherwise, one occurrence of the given element is removed
+	 *         from this binary tree.
+	 *       | if (hasAsElement(element))
+	 *       |   then result == removeElement(element)
+	 * @note   Unlike removeElement, this method does not create any
+	 *         exceptions. It is used internally to detect elements that
+	 *         are not found.
+	 */
+	public BinaryTree tryRemoveElement(Object element) {
+		if (!hasAsElement(element))
+			return null;
+		return removeElement(element);
+	}
+
+	/**
+	 * Add all the given elements to this binary tree.
+	 *
+	 * @param  elements
+	 *         The elements to be added.
+	 * @return The number of occurrences of each object in the resulting
+	 *         tree is the number of its occurrences in this binary tree
+	 *         (upon entry), incremented with the number of its occurrences
+	 *         in the given array of elements.
+	 *       | for each object in (Object union {null}):
+	 *       |   result.getNbOccurrencesOf(object) ==
+	 *       |     this.getNbOccurrencesOf(object) +
+	 *       |     ExtArray.getNbOcurrencesOf(elements,object)
+	 * @throws IllegalElementException
+	 *         This binary tree cannot have some of the given elements as
+	 *         its elements.
+	 *       | for some element in elements:
+	 *       |   (! canHaveAsElement(element))
+	 */
+	public BinaryTree addAllElements(Object... elements)
+			throws IllegalElementException {
+		for (Object element : elements)
+			if (!canHaveAsElement(element))
+				throw new IllegalElementException(element, this);
+		BinaryTree result = this;
+		for (Object element : elements)
+			result = result.addElement(element);
+		return result;
+	}
+
+	/**
+	 * Remove one occurrence of each of the given elements from this
+	 * binary tree.
+	 *
+	 * @param  elements
+	 *         The elements to be removed.
+	 * @return The number of occurrences of each object in the resulting
+	 *         tree is the number of its occurrences in this binary tree
+	 *         (upon entry), decremented with the number of its occurrences
+	 *         in the given array of elements.
+	 *       | for each object in (Object union {null}):
+	 *       |   result.getNbOccurrencesOf(object) ==
+	 *       |     this.getNbOccurrencesOf(object) -
+	 *       |     ExtArray.getNbOcurrencesOf(elements,object)
+	 * @throws IllegalElementException
+	 *         This binary tree does not have as many occurrences of some
+	 *         element as the given array of elements. In that case, this
+	 *         binary tree is left untouched.
+	 *       | for some element in elements:
+	 *       |   getNbOccurrencesOf(element) <
+	 *       |       ExtArray.getNbOcurrencesOf(elements,element)
+	 */
+	public BinaryTree removeAllElements(Object... elements)
+			throws IllegalElementException {
+		Map<Object, Integer> nbRemovals = new HashMap<Object, Integer>();
+		for (Object element : elements)
+			nbRemovals.merge(element, 1, Integer::sum);
+		for (Map.Entry<Object, Integer> entry : nbRemovals.entrySet())
+			if (getNbOccurrencesOf(entry.getKey()) < entry.getValue())
+				throw new IllegalElementException(entry.getKey(), this, false);
+		BinaryTree result = this;
+		for (Object element : elements)
+			result = result.removeElement(element);
+		return result;
+	}
+
 	/**
 	 * Check whether this binary tree has the given tree as a direct or
 	 * indirect subtree.
@@ -188,4 +378,73 @@ public abstract class BinaryTree {
 	 */
 	protected abstract boolean hasAsSubTree(BinaryTree tree);
 
+	/**
+	 * Return an iterator returning all the elements of this binary tree
+	 * in in-order.
+	 *
+	 * @return Each element of this binary tree is returned by the resulting
+	 *         iterator as many times as it occurs in this binary tree.
+	 * @note   The resulting iterator does not use recursion; the amount of
+	 *         memory it uses is proportional to the height of this tree.
+	 *         The result is undefined if this tree is changed while iterating.
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return new InOrderIterator(this);
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this binary tree
+	 * in pre-order.
+	 *
+	 * @return Each element of this binary tree is returned by the resulting
+	 *         iterator as many times as it occurs in this binary tree.
+	 */
+	public Iterator<Object> preOrderIterator() {
+		return new PreOrderIterator(this);
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this binary tree
+	 * in level-order.
+	 *
+	 * @return Each element of this binary tree is returned by the resulting
+	 *         iterator as many times as it occurs in this binary tree.
+	 */
+	public Iterator<Object> levelOrderIterator() {
+		return new LevelOrderIterator(this);
+	}
+
+	/**
+	 * Return a spliterator over all the elements of this binary tree.
+	 *
+	 * @return The resulting spliterator splits off whole subtrees of this
+	 *         binary tree, and knows the exact number of elements in each
+	 *         split. The elements are not returned in any particular order.
+	 */
+	@Override
+	public Spliterator<Object> spliterator() {
+		return new BinaryTreeSpliterator(this);
+	}
+
+	/**
+	 * Return a sequential stream of all the elements of this binary tree.
+	 *
+	 * @return A stream on the spliterator of this binary tree.
+	 *       | result == StreamSupport.stream(spliterator(), false)
+	 */
+	public Stream<Object> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Return a parallel stream of all the elements of this binary tree.
+	 *
+	 * @return A parallel stream on the spliterator of this binary tree.
+	 *       | result == StreamSupport.stream(spliterator(), true)
+	 */
+	public Stream<Object> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,444 @@
+package trees;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A class collecting methods to save binary trees in a compact binary
+ *		format, and to read them back.
+ *		A saved tree consists of a header, a shape bitmap, a null bitmap and
+ *		the payloads of the elements. The header registers a magic number,
+ *		the version of the format, the kind of tree and its number of
+ *		elements. The shape bitmap registers for each node, in pre-order,
+ *		whether it has a non-empty left subtree and a non-empty right
+ *		subtree, using 2 bits per node. The null bitmap registers for each
+ *		node, in pre-order, whether its element is the null reference. The
+ *		payloads of all effective elements follow in pre-order, as written
+ *		by an element codec.
+ *		The kind of tree is preserved for unsorted composed trees, sorted
+ *		trees and persistent trees, also when they are wrapped in an
+ *		indexed, concurrent, mapped or lazy removal binary tree. Other
+ *		binary trees are saved as balanced unsorted trees storing the same
+ *		elements.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public final class BinaryTreeFormat {
+
+	/**
+	 * Prevent the creation of objects of this class.
+	 */
+	private BinaryTreeFormat() {
+	}
+
+	/**
+	 * Constant reflecting the number identifying saved binary trees.
+	 */
+	static final int MAGIC = 0x42545245;
+
+	/**
+	 * Constant reflecting the version of the format of saved binary trees.
+	 */
+	static final byte VERSION = 1;
+
+	/**
+	 * Constant reflecting the number of bytes in the header of a saved
+	 * binary tree.
+	 */
+	static final int HEADER_SIZE = 10;
+
+	/**
+	 * Constants reflecting the kinds of saved binary trees.
+	 */
+	static final byte UNSORTED = 0, SORTED = 1, PERSISTENT = 2;
+
+	/**
+	 * Save the given binary tree to the given file.
+	 *
+	 * @param  tree
+	 *         The binary tree to save.
+	 * @param  codec
+	 *         The codec to write the elements of the given tree with.
+	 * @param  file
+	 *         The file to save the given tree to.
+	 * @throws IOException
+	 *         The given file could not be written.
+	 */
+	public static void save(BinaryTree tree, ElementCodec codec, Path file)
+			throws IOException {
+		try (OutputStream out = new BufferedOutputStream(
+				Files.newOutputStream(file))) {
+			write(tree, codec, out);
+		}
+	}
+
+	/**
+	 * Write the given binary tree to the given output stream.
+	 *
+	 * @param  tree
+	 *         The binary tree to write.
+	 * @param  codec
+	 *         The codec to write the elements of the given tree with.
+	 * @param  out
+	 *         The output stream to write the given tree to.
+	 * @throws IOException
+	 *         The given output stream could not be written.
+	 */
+	public static void write(BinaryTree tree, ElementCodec codec,
+			OutputStream out) throws IOException {
+		tree = getSavedTree(tree);
+		int nbElements = tree.getNbElements();
+		byte[] shape = new byte[getShapeSize(nbElements)];
+		byte[] nulls = new byte[getNullsSize(nbElements)];
+		ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+		DataOutputStream payload = new DataOutputStream(payloadBytes);
+		Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+		if (tree instanceof NonEmptyBinaryTree)
+			pending.push((NonEmptyBinaryTree) tree);
+		for (int index = 0; !pending.isEmpty(); index++) {
+			NonEmptyBinaryTree node = pending.pop();
+			if (node.getLeftTree() instanceof NonEmptyBinaryTree)
+				shape[index >>> 2] |= 1 << ((index & 3) << 1);
+			if (node.getRightTree() instanceof NonEmptyBinaryTree) {
+				shape[index >>> 2] |= 2 << ((index & 3) << 1);
+				pending.push((NonEmptyBinaryTree) node.getRightTree());
+			}
+			if (node.getLeftTree() instanceof NonEmptyBinaryTree)
+				pending.push((NonEmptyBinaryTree) node.getLeftTree());
+			if (node.getRootElement() == null)
+				nulls[index >>> 3] |= 1 << (index & 7);
+			else
+				codec.encode(node.getRootElement(), payload);
+		}
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeByte(getKind(tree));
+		data.writeInt(nbElements);
+		data.write(shape);
+		data.write(nulls);
+		payloadBytes.writeTo(data);
+		data.flush();
+	}
+
+	/**
+	 * Read a binary tree from the given buffer.
+	 *
+	 * @param  buffer
+	 *         The buffer to read the tree from, starting at its current
+	 *         position.
+	 * @param  codec
+	 *         The codec to read the elements of the tree with.
+	 * @return A binary tree of the same kind and with the same shape and
+	 *         the same elements as the tree that was written.
+	 * @throws IOException
+	 *         The given buffer does not start with a saved binary tree.
+	 */
+	public static BinaryTree read(ByteBuffer buffer, ElementCodec codec)
+			throws IOException {
+		Header header = new Header(buffer);
+		return header.materialize(buffer, codec);
+	}
+
+	/**
+	 * Return the tree to be saved for the given binary tree.
+	 *
+	 * @note   The given tree is left untouched. A lazy removal binary tree
+	 *         with tombstones is saved as a balanced tree of the kind of its
+	 *         backing tree, storing the elements it returns when iterated.
+	 */
+	private static BinaryTree getSavedTree(BinaryTree tree) {
+		if (tree instanceof IndexedBinaryTree)
+			return getSavedTree(((IndexedBinaryTree) tree).getBackingTree());
+		if (tree instanceof ConcurrentBinaryTree)
+			return ((ConcurrentBinaryTree) tree).getSnapshot();
+		if (tree instanceof MappedBinaryTree)
+			return getSavedTree(((MappedBinaryTree) tree).getMaterializedTree());
+		if (tree instanceof LazyRemovalBinaryTree) {
+			LazyRemovalBinaryTree lazyTree = (LazyRemovalBinaryTree) tree;
+			BinaryTree backingTree = getSavedTree(lazyTree.getBackingTree());
+			if (lazyTree.getNbTombstones() == 0)
+				return backingTree;
+			Object[] elements = getElements(lazyTree);
+			if (getKind(backingTree) == SORTED)
+				return SortedBinaryTree.fromElements(elements);
+			if (getKind(backingTree) == PERSISTENT)
+				return EmptyPersistentBinaryTree.getPrototype().addAllElements(elements);
+			return BinaryTree.fromElements(elements);
+		}
+		if ((tree instanceof NonEmptyBinaryTree) || (tree instanceof EmptyBinaryTree))
+			return tree;
+		return BinaryTree.fromElements(getElements(tree));
+	}
+
+	/**
+	 * Return an array with the elements of the given binary tree, in the
+	 * order in which its iterator returns them.
+	 */
+	private static Object[] getElements(BinaryTree tree) {
+		Object[] elements = new Object[tree.getNbElements()];
+		int index = 0;
+		for (Object element : tree)
+			elements[index++] = element;
+		return elements;
+	}
+
+	/**
+	 * Return the kind of the given binary tree.
+	 */
+	private static byte getKind(BinaryTree tree) {
+		if (tree instanceof SortedBinaryTree)
+			return SORTED;
+		if ((tree instanceof PersistentBinaryTree)
+				|| (tree instanceof EmptyPersistentBinaryTree))
+			return PERSISTENT;
+		return UNSORTED;
+	}
+
+	/**
+	 * Return the number of bytes in the shape bitmap of a tree with the
+	 * given number of elements.
+	 */
+	static int getShapeSize(int nbElements) {
+		return (int) (((long) nbElements * 2 + 7) / 8);
+	}
+
+	/**
+	 * Return the number of bytes in the null bitmap of a tree with the
+	 * given number of elements.
+	 */
+	static int getNullsSize(int nbElements) {
+		return (nbElements + 7) / 8;
+	}
+
+	/**
+	 * A class of headers of saved binary trees.
+	 */
+	static final class Header {
+
+		/**
+		 * Initialize this new header from the given buffer.
+		 *
+		 * @param  buffer
+		 *         The buffer to read the header from, starting at its
+		 *         current position. The position of the buffer is left
+		 *         untouched.
+		 * @throws IOException
+		 *         The given buffer does not start with a valid header.
+		 */
+		Header(ByteBuffer buffer) throws IOException {
+			int start = buffer.position();
+			if ((buffer.remaining() < HEADER_SIZE)
+					|| (buffer.getInt(start) != MAGIC))
+				throw new IOException("Not a saved binary tree");
+			if (buffer.get(start + 4) != VERSION)
+				throw new IOException("Unsupported version "
+						+ buffer.get(start + 4));
+			kind = buffer.get(start + 5);
+			if ((kind < UNSORTED) || (kind > PERSISTENT))
+				throw new IOException("Unknown kind of tree " + kind);
+			nbElements = buffer.getInt(start + 6);
+			if ((nbElements < 0) || (buffer.remaining() < HEADER_SIZE
+					+ getShapeSize(nbElements) + getNullsSize(nbElements)))
+				throw new IOException("Truncated binary tree");
+			shapeStart = start + HEADER_SIZE;
+			nullsStart = shapeStart + getShapeSize(nbElements);
+			payloadStart = nullsStart + getNullsSize(nbElements);
+		}
+
+		/**
+		 * The kind of the saved tree.
+		 */
+		final byte kind;
+
+		/**
+		 * The number of elements in the saved tree.
+		 */
+		final int nbElements;
+
+		/**
+		 * The positions in the buffer at which the shape bitmap, the null
+		 * bitmap and the payloads start.
+		 */
+		final int shapeStart, nullsStart, payloadStart;
+
+		/**
+		 * Return the empty tree of the kind of the saved tree.
+		 */
+		BinaryTree getEmptyTree() {
+			if (kind == SORTED)
+				return EmptySortedBinaryTree.getPrototype();
+			if (kind == PERSISTENT)
+				return EmptyPersistentBinaryTree.getPrototype();
+			return EmptyBinaryTree.getPrototype();
+		}
+
+		/**
+		 * Return the shape bits of the node at the given index: bit 0 is
+		 * set if it has a non-empty left subtree, bit 1 if it has a
+		 * non-empty right subtree.
+		 */
+		int getShape(ByteBuffer buffer, int index) {
+			return (buffer.get(shapeStart + (index >>> 2)) >>> ((index & 3) << 1)) & 3;
+		}
+
+		/**
+		 * Return the element of the node at the given index, decoding its
+		 * payload from the given payload buffer if it is effective.
+		 */
+		Object getElement(ByteBuffer buffer, ByteBuffer payload, int index,
+				ElementCodec codec) {
+			if ((buffer.get(nullsStart + (index >>> 3)) & (1 << (index & 7))) != 0)
+				return null;
+			return codec.decode(payload);
+		}
+
+		/**
+		 * Return a new buffer on the payloads of the saved tree.
+		 */
+		ByteBuffer getPayload(ByteBuffer buffer) {
+			ByteBuffer payload = buffer.duplicate();
+			payload.position(payloadStart);
+			return payload;
+		}
+
+		/**
+		 * Return an iterator decoding the elements of the saved tree in
+		 * pre-order, without building any nodes.
+		 */
+		Iterator<Object> preOrderIterator(ByteBuffer buffer, ElementCodec codec) {
+			ByteBuffer payload = getPayload(buffer);
+			return new Iterator<Object>() {
+
+				@Override
+				public boolean hasNext() {
+					return index < nbElements;
+				}
+
+				@Override
+				public Object next() {
+					if (!hasNext())
+						throw new NoSuchElementException();
+					return getElement(buffer, payload, index++, codec);
+				}
+
+				private int index = 0;
+
+			};
+		}
+
+		/**
+		 * Build the saved tree.
+		 *		The nodes are decoded in pre-order, and each node is built
+		 *		after both its subtrees have been built. An explicit stack is
+		 *		used, such that degenerated trees cannot overflow the stack.
+		 *
+		 * @throws IOException
+		 *         The shape bitmap describes more or fewer nodes than the
+		 *         number of elements in the header.
+		 */
+		BinaryTree materialize(ByteBuffer buffer, ElementCodec codec)
+				throws IOException {
+			if (nbElements == 0)
+				return getEmptyTree();
+			ByteBuffer payload = getPayload(buffer);
+			Deque<Frame> pending = new ArrayDeque<Frame>();
+			int index = 0;
+			pending.push(readFrame(buffer, payload, index++, codec));
+			while (true) {
+				Frame frame = pending.peek();
+				if (frame.stage == 0) {
+					frame.stage = 1;
+					if ((frame.shape & 1) != 0)
+						pending.push(readFrame(buffer, payload, index++, codec));
+					continue;
+				}
+				if (frame.stage == 1) {
+					frame.stage = 2;
+					if ((frame.shape & 2) != 0)
+						pending.push(readFrame(buffer, payload, index++, codec));
+					continue;
+				}
+				pending.pop();
+				BinaryTree tree = buildNode(frame);
+				if (pending.isEmpty()) {
+					if (index != nbElements)
+						throw new IOException("Shape of " + index
+								+ " nodes for " + nbElements + " elements");
+					return tree;
+				}
+				if (pending.peek().stage == 1)
+					pending.peek().leftTree = tree;
+				else
+					pending.peek().rightTree = tree;
+			}
+		}
+
+		/**
+		 * Return a frame for the node at the given index.
+		 *
+		 * @throws IOException
+		 *         The given index is not below the number of elements in
+		 *         the header.
+		 */
+		private Frame readFrame(ByteBuffer buffer, ByteBuffer payload,
+				int index, ElementCodec codec) throws IOException {
+			if (index >= nbElements)
+				throw new IOException("Shape of more than " + nbElements
+						+ " nodes");
+			return new Frame(getElement(buffer, payload, index, codec),
+					getShape(buffer, index));
+		}
+
+		/**
+		 * Build the node described by the given frame.
+		 */
+		private BinaryTree buildNode(Frame frame) {
+			BinaryTree left = (frame.leftTree != null) ? frame.leftTree
+					: getEmptyTree();
+			BinaryTree right = (frame.rightTree != null) ? frame.rightTree
+					: getEmptyTree();
+			if (kind == PERSISTENT)
+				return new PersistentBinaryTree(frame.element, left, right);
+			if (frame.shape == 0)
+				return (kind == SORTED) ? new LeafSortedBinaryTree(frame.element)
+						: new LeafBinaryTree(frame.element);
+			if (kind == SORTED)
+				return new ComposedSortedBinaryTree(frame.element, left, right);
+			return new ComposedBinaryTree(frame.element, left, right);
+		}
+
+	}
+
+	/**
+	 * A class of frames registering a node that is being built.
+	 */
+	private static final class Frame {
+
+		Frame(Object element, int shape) {
+			this.element = element;
+			this.shape = shape;
+		}
+
+		final Object element;
+
+		final int shape;
+
+		int stage;
+
+		BinaryTree leftTree, rightTree;
+
+	}
+
+}
@@ -0,0 +1,115 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A class of spliterators over the elements of a binary tree.
+ *		A binary tree spliterator splits off whole subtrees, such that the
+ *		elements of a binary tree can be processed by parallel streams. The
+ *		elements are not returned in any particular order. The cached number
+ *		of elements of each subtree makes the size of each split exact.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+class BinaryTreeSpliterator implements Spliterator<Object> {
+
+	/**
+	 * Initialize this new spliterator for the given binary tree.
+	 *
+	 * @param  tree
+	 *         The binary tree to traverse.
+	 */
+	BinaryTreeSpliterator(BinaryTree tree) {
+		if (tree instanceof NonEmptyBinaryTree) {
+			pendingTrees.push((NonEmptyBinaryTree) tree);
+			nbRemaining = tree.getNbElements();
+		}
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Object> action) {
+		if (!pendingElements.isEmpty()) {
+			nbRemaining--;
+			action.accept(pendingElements.remove(pendingElements.size() - 1));
+			return true;
+		}
+		if (pendingTrees.isEmpty())
+			return false;
+		NonEmptyBinaryTree node = pendingTrees.pop();
+		if (node.getRightTree() instanceof NonEmptyBinaryTree)
+			pendingTrees.push((NonEmptyBinaryTree) node.getRightTree());
+		if (node.getLeftTree() instanceof NonEmptyBinaryTree)
+			pendingTrees.push((NonEmptyBinaryTree) node.getLeftTree());
+		nbRemaining--;
+		action.accept(node.getRootElement());
+		return true;
+	}
+
+	@Override
+	public Spliterator<Object> trySplit() {
+		if (pendingTrees.size() > 1)
+			return splitOff(pendingTrees.removeLast());
+		if (pendingTrees.size() == 1) {
+			NonEmptyBinaryTree node = pendingTrees.peek();
+			if (!(node.getLeftTree() instanceof NonEmptyBinaryTree)
+					|| !(node.getRightTree() instanceof NonEmptyBinaryTree))
+				return null;
+			// Keep the root element and the left subtree, hand off the
+			// right subtree.
+			pendingTrees.pop();
+			pendingElements.add(node.getRootElement());
+			pendingTrees.push((NonEmptyBinaryTree) node.getLeftTree());
+			return splitOff((NonEmptyBinaryTree) node.getRightTree());
+		}
+		return null;
+	}
+
+	/**
+	 * Return a new spliterator for the given subtree, and no longer count
+	 * its elements as remaining elements of this spliterator.
+	 *
+	 * @param  tree
+	 *         The subtree to split off.
+	 */
+	private Spliterator<Object> splitOff(NonEmptyBinaryTree tree) {
+		nbRemaining -= tree.getNbElements();
+		return new BinaryTreeSpliterator(tree);
+	}
+
+	@Override
+	public long estimateSize() {
+		return nbRemaining;
+	}
+
+	@Override
+	public int characteristics() {
+		return SIZED | SUBSIZED;
+	}
+
+	/**
+	 * Variable referencing the stack of subtrees that have not been
+	 * traversed yet.
+	 */
+	private final Deque<NonEmptyBinaryTree> pendingTrees = new ArrayDeque<NonEmptyBinaryTree>();
+
+	/**
+	 * Variable referencing the list of single elements that have not been
+	 * returned yet.
+	 * 
+	 * @note   A list is used, because elements may be the null reference.
+	 */
+	private final List<Object> pendingElements = new ArrayList<Object>();
+
+	/**
+	 * Variable registering the number of elements that have not been
+	 * returned yet.
+	 */
+	private long nbRemaining = 0;
+
+}
@@ -1,5 +1,8 @@
 package trees;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Raw;
 import trees.exceptions.*;
@@ -18,7 +21,7 @@ import trees.exceptions.*;
  * @version 2.0
  * @author  Eric Steegmans
  */
-public class ComposedBinaryTree extends NonEmptyBinaryTree {
+public class ComposedBinaryTree extends MutableBinaryTree {
 
     /**
      * Initialize this new composed binary tree with given elements.
@@ -55,15 +58,12 @@ public class ComposedBinaryTree extends NonEmptyBinaryTree {
         int middleIndex = elements.length / 2;
         setRootElement(elements[middleIndex]);
         // Register all elements before the middle index in the left
-        // subtree of this new unsorted composed binary tree.
-        setLeftTree(EmptyBinaryTree.getPrototype());
-        for (int i = 0; i < middleIndex; i++)
-            setLeftTree(getLeftTree().addElement(elements[i]));
-        // Register all elements after the middle index in the right
-        // subtree of this new unsorted composed binary tree.
-        setRightTree(EmptyBinaryTree.getPrototype());
-        for (int i = middleIndex + 1; i < elements.length; i++)
-            setRightTree(getRightTree().addElement(elements[i]));
+        // subtree of this new unsorted composed binary tree, and all
+        // elements after the middle index in its right subtree. Both
+        // subtrees are built directly, in linear time.
+        setLeftTree(BalancedTreeBuilder.build(elements, 0, middleIndex, false));
+        setRightTree(BalancedTreeBuilder.build(elements, middleIndex + 1,
+            elements.length, false));
     }
 
     /**
@@ -79,17 +79,40 @@ public class ComposedBinaryTree extends NonEmptyBinaryTree {
     @Raw
     protected ComposedBinaryTree() {
     }
-    
-	/**
-	 * Return the number of occurrences of the given element in this
-	 * composed binary tree.
-	 */
-	@Override
-	@Basic
-	public int getNbOccurrencesOf(Object element) {
-		return -1;
-	}
 
+    /**
+     * Initialize this new composed binary tree with given root element
+     * and given subtrees.
+     *
+     * @param  element
+     *         The element to be stored in the root of this new composed
+     *         binary tree.
+     * @param  leftTree
+     *         The left subtree for this new composed binary tree.
+     * @param  rightTree
+     *         The right subtree for this new composed binary tree.
+     * @pre    This new composed binary tree must can have the given trees
+     *         as its left subtree, respectively as its right subtree.
+     *       | canHaveAsSubTrees(leftTree, rightTree)
+     * @effect This new composed binary tree is initialized as a non-empty
+     *         binary tree with the given element as its root element.
+     *       | super(element)
+     * @post   The left subtree of this new composed binary tree is the
+     *         same as the given left tree.
+     *       | new.getLeftTree() == leftTree
+     * @post   The right subtree of this new composed binary tree is the
+     *         same as the given right tree.
+     *       | new.getRightTree() == rightTree
+     */
+    @Raw
+    protected ComposedBinaryTree(Object element, BinaryTree leftTree,
+            BinaryTree rightTree) throws IllegalElementException {
+        super(element);
+        assert canHaveAsSubTrees(leftTree, rightTree);
+        setLeftTree(leftTree);
+        setRightTree(rightTree);
+    }
+    
     /**
      * Check whether this composed binary tree can have occurrences
      * of the given element.
@@ -124,11 +147,132 @@ public class ComposedBinaryTree extends NonEmptyBinaryTree {
 
     /**
      * Add the given element to this composed binary tree.
+     *
+     * @return This composed binary tree.
+     *       | result == this
+     * @post   The given element is added to the subtree with the smallest
+     *         number of elements, such that the height of this composed
+     *         binary tree stays logarithmic in its number of elements.
+     *       | if (getLeftTree().getNbElements() <=
+     *       |         getRightTree().getNbElements())
+     *       |   then (new.getLeftTree().getNbOccurrencesOf(element) ==
+     *       |             getLeftTree().getNbOccurrencesOf(element) + 1)
+     *       |   else (new.getRightTree().getNbOccurrencesOf(element) ==
+     *       |             getRightTree().getNbOccurrencesOf(element) + 1)
+     * @throws IllegalElementException
+     *         This composed binary tree cannot have the given element
+     *         as one of its elements.
+     *       | ! canHaveAsElement(element)
      */
     @Override
     public ComposedBinaryTree addElement(Object element)
             throws IllegalElementException {
-        return null;
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        if (getLeftTree().getNbElements() <= getRightTree().getNbElements())
+            setLeftTree(getLeftTree().addElement(element));
+        else
+            setRightTree(getRightTree().addElement(element));
+        return this;
+    }
+
+    /**
+     * Add all the given elements to this composed binary tree.
+     *
+     * @return This composed binary tree.
+     *       | result == this
+     * @note   If the number of elements to add is large compared to the
+     *         number of elements in this composed binary tree, its
+     *         subtrees are rebuilt from scratch in linear time, instead
+     *         of adding the elements one by one.
+     */
+    @Override
+    public BinaryTree addAllElements(Object... elements)
+            throws IllegalElementException {
+        for (Object element : elements)
+            if (!canHaveAsElement(element))
+                throw new IllegalElementException(element, this);
+        int nbElements = getNbElements() + elements.length;
+        int log2NbElements = 32 - Integer.numberOfLeadingZeros(nbElements);
+        if ((long) elements.length * log2NbElements < nbElements)
+            return super.addAllElements(elements);
+        Object[] allElements = new Object[nbElements];
+        int index = 0;
+        for (Object element : this)
+            allElements[index++] = element;
+        System.arraycopy(elements, 0, allElements, index, elements.length);
+        return rebuild(allElements);
+    }
+
+    /**
+     * Remove one occurrence of each of the given elements from this
+     * composed binary tree.
+     *
+     * @note   The elements of this composed binary tree are collected in a
+     *         single traversal, skipping the elements to be removed, after
+     *         which its subtrees are rebuilt in linear time.
+     */
+    @Override
+    public BinaryTree removeAllElements(Object... elements)
+            throws IllegalElementException {
+        Map<Object, Integer> nbRemovals = createOccurrenceMap();
+        for (Object element : elements) {
+            if (!canHaveAsElement(element))
+                throw new IllegalElementException(element, this);
+            nbRemovals.merge(element, 1, Integer::sum);
+        }
+        Object[] remainingElements = new Object[getNbElements()];
+        int nbRemaining = 0;
+        for (Object element : this) {
+            Integer nbToRemove = nbRemovals.get(element);
+            if (nbToRemove == null)
+                remainingElements[nbRemaining++] = element;
+            else if (nbToRemove == 1)
+                nbRemovals.remove(element);
+            else
+                nbRemovals.put(element, nbToRemove - 1);
+        }
+        if (!nbRemovals.isEmpty())
+            throw new IllegalElementException(
+                nbRemovals.keySet().iterator().next(), this, false);
+        Object[] elementsToKeep = new Object[nbRemaining];
+        System.arraycopy(remainingElements, 0, elementsToKeep, 0, nbRemaining);
+        return rebuild(elementsToKeep);
+    }
+
+    /**
+     * Return a new map from elements to numbers of occurrences, in which
+     * elements are looked up the same way as in this composed binary tree.
+     */
+    protected Map<Object, Integer> createOccurrenceMap() {
+        return new HashMap<Object, Integer>();
+    }
+
+    /**
+     * Rebuild this composed binary tree as a perfectly balanced tree
+     * storing the given elements.
+     *
+     * @param  elements
+     *         The elements to be stored in the resulting tree.
+     * @return An empty binary tree if no elements are given, a new binary
+     *         leaf tree if a single element is given, and this composed
+     *         binary tree otherwise.
+     * @return The number of occurrences of each object in the resulting
+     *         tree is equal to the number of occurrences of that object
+     *         in the given array of elements.
+     *       | for each element in (Object union {null}):
+     *       |   (result.getNbOccurrencesOf(element) ==
+     *       |        ExtArray.getNbOcurrencesOf(elements,element))
+     */
+    protected BinaryTree rebuild(Object[] elements) {
+        if (elements.length < 2)
+            return BalancedTreeBuilder.build(elements, false);
+        int middleIndex = elements.length / 2;
+        setRootElement(elements[middleIndex]);
+        setLeftTree(BalancedTreeBuilder.build(elements, 0, middleIndex, false));
+        setRightTree(BalancedTreeBuilder.build(elements, middleIndex + 1,
+            elements.length, false));
+        return this;
     }
 
     /**
@@ -146,16 +290,37 @@ public class ComposedBinaryTree extends NonEmptyBinaryTree {
     @Override
     public NonEmptyBinaryTree removeElement(Object element)
             throws IllegalElementException {
-        if ((getRootElement() == null) && (element == null))
-            return removeRootElement();
-        if ((getRootElement() != null) && getRootElement().equals(element))
+        NonEmptyBinaryTree result = tryRemoveElement(element);
+        if (result == null)
+            throw new IllegalElementException(element, this, false);
+        return result;
+    }
+
+    /**
+     * Remove one occurrence of the given element from this composed
+     * binary tree, if it has the given element as one of its elements.
+     *
+     * @return The null reference if this composed binary tree does not
+     *         have the given element as one of its elements.
+     *       | if (! hasAsElement(element))
+     *       |   then result == null
+     * @note   The given element is removed from the left subtree if it
+     *         is found there, and from the right subtree otherwise. A miss
+     *         in a subtree is signalled by the null reference, such that no
+     *         exceptions are created while searching.
+     */
+    @Override
+    public NonEmptyBinaryTree tryRemoveElement(Object element) {
+        if (hasAsRootElement(element))
             return removeRootElement();
-        try {
-            setLeftTree(getLeftTree().removeElement(element));
-        }
-        catch (IllegalElementException exc) {
-            assert !getLeftTree().hasAsElement(element);
-            setRightTree(getRightTree().removeElement(element));
+        BinaryTree leftTree = getLeftTree().tryRemoveElement(element);
+        if (leftTree != null)
+            setLeftTree(leftTree);
+        else {
+            BinaryTree rightTree = getRightTree().tryRemoveElement(element);
+            if (rightTree == null)
+                return null;
+            setRightTree(rightTree);
         }
         return changeToLeafTree();
     }
@@ -177,8 +342,10 @@ public class ComposedBinaryTree extends NonEmptyBinaryTree {
             setLeftTree(leftTree.removeRootElement());
             return changeToLeafTree();
         }
-        else
+        else {
+            detachSubTree(getRightTree());
             return (NonEmptyBinaryTree) getRightTree();
+        }
     }
 
     /**
@@ -199,10 +366,21 @@ public class ComposedBinaryTree extends NonEmptyBinaryTree {
 	 * @post  The left subtree of this composed binary tree is the same
 	 *        as the given tree.
 	 *      | new.getLeftTree() == leftTree
+	 * @post  This composed binary tree is the parent tree of the given
+	 *        tree, if that tree is not empty.
+	 *      | if (leftTree instanceof NonEmptyBinaryTree)
+	 *      |   then (new leftTree).getParentTree() == this
+	 * @post  The number of elements of this composed binary tree is
+	 *        recomputed from its new subtrees.
+	 *      | new.getNbElements() ==
+	 *      |   1 + leftTree.getNbElements() + getRightTree().getNbElements()
 	 */
 	protected final void setLeftTree(BinaryTree leftTree) {
 		assert canHaveAsLeftTree(leftTree);
+		detachSubTree(this.leftTree);
 		this.leftTree = leftTree;
+		attachSubTree(leftTree);
+		updateNbElements();
 	}
 
     /**
@@ -228,10 +406,21 @@ public class ComposedBinaryTree extends NonEmptyBinaryTree {
      * @post   The right subtree of this composed binary tree is the same
      *         as the given tree.
      *       | new.getRightTree() == rightTree
+     * @post   This composed binary tree is the parent tree of the given
+     *         tree, if that tree is not empty.
+     *       | if (rightTree instanceof NonEmptyBinaryTree)
+     *       |   then (new rightTree).getParentTree() == this
+     * @post   The number of elements of this composed binary tree is
+     *         recomputed from its new subtrees.
+     *       | new.getNbElements() ==
+     *       |   1 + getLeftTree().getNbElements() + rightTree.getNbElements()
      */
     protected final void setRightTree(BinaryTree rightTree) {
 		assert canHaveAsRightTree(rightTree);
+        detachSubTree(this.rightTree);
         this.rightTree = rightTree;
+        attachSubTree(rightTree);
+        updateNbElements();
     }
 
     /**
@@ -0,0 +1,265 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of composed long binary trees.
+ *		A composed long binary tree consists of a root node in which a single
+ *		value is stored, complemented with a left subtree and a right
+ *		subtree, of which at least one is not empty.
+ *
+ * @invar   Each composed long binary tree has at least two elements.
+ *        | getNbElements() >= 2
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class ComposedLongBinaryTree extends NonEmptyLongBinaryTree {
+
+    /**
+     * Initialize this new composed long binary tree with given values.
+     *
+     * @param  elements
+     *         The values to be stored in this new composed long binary tree.
+     * @post   The number of occurrences of each value in this new composed
+     *         long binary tree is equal to the number of occurrences of that
+     *         value in the given array of values.
+     * @throws IllegalArgumentException
+     *         The given array of values does not have at least 2 values.
+     *       | elements.length < 2
+     * @note   The values are stored in a perfectly balanced tree, built in
+     *         linear time.
+     */
+	@Raw
+    public ComposedLongBinaryTree(long... elements)
+            throws IllegalArgumentException {
+        if (elements.length < 2)
+            throw new IllegalArgumentException();
+        int middleIndex = elements.length / 2;
+        setRootElement(elements[middleIndex]);
+        setLeftTree(build(elements, 0, middleIndex));
+        setRightTree(build(elements, middleIndex + 1, elements.length));
+    }
+
+    /**
+     * Initialize this new composed long binary tree with given root value
+     * and given subtrees.
+     *
+     * @param  element
+     *         The value to be stored in the root of this new composed long
+     *         binary tree.
+     * @param  leftTree
+     *         The left subtree for this new composed long binary tree.
+     * @param  rightTree
+     *         The right subtree for this new composed long binary tree.
+     * @pre    This new composed long binary tree must can have the given
+     *         trees as its left subtree, respectively as its right subtree.
+     *       | canHaveAsSubTrees(leftTree, rightTree)
+     * @post   The left subtree of this new composed long binary tree is the
+     *         same as the given left tree.
+     *       | new.getLeftTree() == leftTree
+     * @post   The right subtree of this new composed long binary tree is the
+     *         same as the given right tree.
+     *       | new.getRightTree() == rightTree
+     */
+    @Raw
+    protected ComposedLongBinaryTree(long element, LongBinaryTree leftTree,
+            LongBinaryTree rightTree) {
+        super(element);
+        assert canHaveAsSubTrees(leftTree, rightTree);
+        setLeftTree(leftTree);
+        setRightTree(rightTree);
+    }
+
+    /**
+     * Return a perfectly balanced long binary tree storing the values of
+     * the given array between the given indices.
+     *
+     * @param  elements
+     *         The array of values to build a tree for.
+     * @param  from
+     *         The index of the first value to store (inclusive).
+     * @param  to
+     *         The index of the last value to store (exclusive).
+     */
+    static LongBinaryTree build(long[] elements, int from, int to) {
+        if (from == to)
+            return EmptyLongBinaryTree.getPrototype();
+        if (to - from == 1)
+            return new LeafLongBinaryTree(elements[from]);
+        int middleIndex = from + (to - from) / 2;
+        return new ComposedLongBinaryTree(elements[middleIndex],
+            build(elements, from, middleIndex),
+            build(elements, middleIndex + 1, to));
+    }
+
+    /**
+     * Add the given value to this composed long binary tree.
+     *
+     * @return This composed long binary tree.
+     *       | result == this
+     * @post   The given value is added to the subtree with the smallest
+     *         number of elements, such that the height of this composed
+     *         long binary tree stays logarithmic in its number of elements.
+     */
+    @Override
+    public ComposedLongBinaryTree addElement(long element) {
+        if (getLeftTree().getNbElements() <= getRightTree().getNbElements())
+            setLeftTree(getLeftTree().addElement(element));
+        else
+            setRightTree(getRightTree().addElement(element));
+        return this;
+    }
+
+    /**
+     * Remove one occurrence of the given value from this composed long
+     * binary tree, if it has the given value as one of its elements.
+     *
+     * @return The null reference if this composed long binary tree does not
+     *         have the given value as one of its elements.
+     *       | if (! hasAsElement(element))
+     *       |   then result == null
+     * @return A long binary leaf tree, if this composed long binary tree only
+     *         has 2 elements and the given value is removed.
+     */
+    @Override
+    public NonEmptyLongBinaryTree tryRemoveElement(long element) {
+        if (getRootElement() == element)
+            return removeRootElement();
+        LongBinaryTree leftTree = getLeftTree().tryRemoveElement(element);
+        if (leftTree != null)
+            setLeftTree(leftTree);
+        else {
+            LongBinaryTree rightTree = getRightTree().tryRemoveElement(element);
+            if (rightTree == null)
+                return null;
+            setRightTree(rightTree);
+        }
+        return changeToLeafTree();
+    }
+
+    /**
+     * Remove the value stored in the root of this composed long binary tree.
+     *
+     * @return A long binary leaf tree, if this composed long binary tree only
+     *         has 2 elements; otherwise, this composed long binary tree or
+     *         its right subtree.
+     */
+    @Override
+    protected NonEmptyLongBinaryTree removeRootElement() {
+        if (getLeftTree() instanceof NonEmptyLongBinaryTree) {
+            NonEmptyLongBinaryTree leftTree = (NonEmptyLongBinaryTree) getLeftTree();
+            setRootElement(leftTree.getRootElement());
+            setLeftTree(leftTree.removeRootElement());
+            return changeToLeafTree();
+        }
+        else {
+            detachSubTree(getRightTree());
+            return (NonEmptyLongBinaryTree) getRightTree();
+        }
+    }
+
+    /**
+     * Return the left subtree of this composed long binary tree.
+     */
+    @Override
+    protected LongBinaryTree getLeftTree() {
+        return leftTree;
+    }
+
+    /**
+     * Set the left subtree of this composed long binary tree to the given
+     * tree.
+     *
+     * @param  leftTree
+     *         The new left subtree for this composed long binary tree.
+     * @pre    This composed long binary tree must can have the given tree as
+     *         its left subtree.
+     *       | canHaveAsLeftTree(leftTree)
+     * @post   The left subtree of this composed long binary tree is the same
+     *         as the given tree.
+     *       | new.getLeftTree() == leftTree
+     */
+    protected final void setLeftTree(LongBinaryTree leftTree) {
+        assert canHaveAsLeftTree(leftTree);
+        detachSubTree(this.leftTree);
+        this.leftTree = leftTree;
+        attachSubTree(leftTree);
+        updateNbElements();
+    }
+
+    /**
+     * Variable referencing the left subtree of this composed long binary
+     * tree.
+     */
+    private LongBinaryTree leftTree;
+
+    /**
+     * Return the right subtree of this composed long binary tree.
+     */
+    @Override
+    protected LongBinaryTree getRightTree() {
+        return rightTree;
+    }
+
+    /**
+     * Set the right subtree of this composed long binary tree to the given
+     * tree.
+     *
+     * @param  rightTree
+     *         The new right subtree for this composed long binary tree.
+     * @pre    This composed long binary tree must can have the given tree as
+     *         its right subtree.
+     *       | canHaveAsRightTree(rightTree)
+     * @post   The right subtree of this composed long binary tree is the same
+     *         as the given tree.
+     *       | new.getRightTree() == rightTree
+     */
+    protected final void setRightTree(LongBinaryTree rightTree) {
+        assert canHaveAsRightTree(rightTree);
+        detachSubTree(this.rightTree);
+        this.rightTree = rightTree;
+        attachSubTree(rightTree);
+        updateNbElements();
+    }
+
+    /**
+     * Variable referencing the right subtree of this composed long binary
+     * tree.
+     */
+    private LongBinaryTree rightTree;
+
+    /**
+     * Check whether this composed long binary tree can have the given trees
+     * as its left subtree, respectively as its right subtree.
+     *
+     * @return False if the given left tree and the given right tree are
+     *         both empty trees.
+     *       | if ( (left instanceof EmptyLongBinaryTree) &&
+     *       |      (right instanceof EmptyLongBinaryTree) )
+     *       |   then result == false
+     */
+    @Override
+    protected boolean canHaveAsSubTrees(PrimitiveBinaryTree left,
+            PrimitiveBinaryTree right) {
+        return super.canHaveAsSubTrees(left, right)
+            && ((!(left instanceof EmptyLongBinaryTree)) || (!(right instanceof EmptyLongBinaryTree)));
+    }
+
+    /**
+     * Change this composed long binary tree into a long binary leaf tree, if
+     * it only has one element.
+     *
+     * @return A new long binary leaf tree, if this composed long binary tree
+     *         has a single element; this tree otherwise.
+     *       | if (getNbElements() == 1)
+     *       |   then result instanceof LeafLongBinaryTree
+     *       |   else result == this
+     */
+    protected NonEmptyLongBinaryTree changeToLeafTree() {
+        if (getLeftTree().isEmpty() && getRightTree().isEmpty())
+            return new LeafLongBinaryTree(getRootElement());
+        return this;
+    }
+
+}
@@ -0,0 +1,653 @@
+package trees;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+import trees.exceptions.*;
+
+/**
+ * A class of composed sorted binary trees.
+ *		Composed sorted binary trees are balanced as AVL-trees: after each
+ *		addition or removal, subtrees whose heights differ by more than one
+ *		are rebalanced by means of rotations. Searching, adding and removing
+ *		elements therefore take a logarithmic number of steps.
+ *
+ * @invar   The heights of the left subtree and the right subtree of each
+ *          composed sorted binary tree differ at most by one.
+ *        | Math.abs(getLeftTree().getHeight() - getRightTree().getHeight()) <= 1
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class ComposedSortedBinaryTree extends ComposedBinaryTree implements
+		SortedBinaryTree {
+
+    /**
+     * Initialize this new composed sorted binary tree with given elements.
+     *
+     * @param  elements
+     *         The elements to be stored in this new composed sorted
+     *         binary tree.
+     * @post   The number of occurrences of each object in this new composed
+     *         sorted binary tree is equal to the number of occurrences of
+     *         that element in the given array of elements.
+     *       | for each element in Object:
+     *       |   (new.getNbOccurrencesOf(element) ==
+     *       |        ExtArray.getNbOcurrencesOf(elements,element))
+     * @throws IllegalArgumentException
+     *         The given array of elements does not have at least 2 elements.
+     *       | elements.length < 2
+     * @throws IllegalElementException
+     *         This new composed sorted binary tree cannot have at least one
+     *         element of the given array as one of its elements.
+     *       | for some element in elements:
+     *       |   (! canHaveAsElement(element)) ||
+     *       |   (! canBeCompared(element, elements[0]))
+     * @note   The given elements are sorted first, after which a perfectly
+     *         balanced tree is built from them without any rotations.
+     */
+	@Raw
+    public ComposedSortedBinaryTree(Object... elements)
+            throws IllegalArgumentException, IllegalElementException {
+        if (elements.length < 2)
+            throw new IllegalArgumentException();
+        for (Object element : elements)
+            if (!canHaveAsElement(element)
+                    || !canBeCompared(element, elements[0]))
+                throw new IllegalElementException(element, this);
+        Object[] sortedElements = elements.clone();
+        Arrays.sort(sortedElements);
+        int middleIndex = sortedElements.length / 2;
+        setRootElement(sortedElements[middleIndex]);
+        setLeftTree(BalancedTreeBuilder.build(sortedElements, 0, middleIndex,
+            true));
+        setRightTree(BalancedTreeBuilder.build(sortedElements,
+            middleIndex + 1, sortedElements.length, true));
+        updateHeight();
+    }
+
+    /**
+     * Initialize this new composed sorted binary tree with given root
+     * element and given subtrees.
+     *
+     * @param  element
+     *         The element to be stored in the root of this new composed
+     *         sorted binary tree.
+     * @param  leftTree
+     *         The left subtree for this new composed sorted binary tree.
+     * @param  rightTree
+     *         The right subtree for this new composed sorted binary tree.
+     * @pre    The elements of the given left tree are not above the given
+     *         element, and the elements of the given right tree are not
+     *         below the given element.
+     * @effect This new composed sorted binary tree is initialized as a
+     *         composed binary tree with the given element as its root
+     *         element and with the given subtrees.
+     *       | super(element, leftTree, rightTree)
+     */
+    @Raw
+    protected ComposedSortedBinaryTree(Object element, BinaryTree leftTree,
+            BinaryTree rightTree) throws IllegalElementException {
+        super(element, leftTree, rightTree);
+        updateHeight();
+    }
+
+    /**
+     * Compare the given elements.
+     *
+     * @param  first
+     *         The first element to compare.
+     * @param  second
+     *         The second element to compare.
+     * @pre    The given elements can be compared with each other.
+     *       | canBeCompared(first, second)
+     * @return A negative number, zero, or a positive number if the first
+     *         element is below, equal to, or above the second element.
+     *       | result == ((Comparable) first).compareTo(second)
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static int compare(Object first, Object second) {
+        return ((Comparable) first).compareTo(second);
+    }
+
+    /**
+     * Check whether the given elements can be compared with each other.
+     *
+     * @param  first
+     *         The first element to compare.
+     * @param  second
+     *         The second element to compare.
+     * @return True if and only if both elements are comparable, and each
+     *         of them accepts the other one in its compareTo method.
+     *       | result ==
+     *       |   (first instanceof Comparable) &&
+     *       |   (second instanceof Comparable) &&
+     *       |   first.compareTo(second) does not throw ClassCastException &&
+     *       |   second.compareTo(first) does not throw ClassCastException
+     * @note   Elements of the same class are taken to be mutually
+     *         comparable without trying, such that the check does not add
+     *         comparisons to searches in homogeneous trees.
+     */
+    static boolean canBeCompared(Object first, Object second) {
+        if (!(first instanceof Comparable) || !(second instanceof Comparable))
+            return false;
+        if (first.getClass() == second.getClass())
+            return true;
+        try {
+            compare(first, second);
+            compare(second, first);
+            return true;
+        } catch (ClassCastException exc) {
+            return false;
+        }
+    }
+
+    /**
+     * Check whether a sorted binary tree with the given root element can
+     * have occurrences of the given element.
+     *
+     * @param  element
+     *         The element to check.
+     * @param  rootElement
+     *         The root element of the tree, or the null reference if the
+     *         tree is still raw.
+     * @return True if and only if the given element is comparable, and can
+     *         be compared with the given root element if it is effective.
+     *       | result ==
+     *       |   (element instanceof Comparable) &&
+     *       |   ( (rootElement == null) ||
+     *       |     canBeCompared(element, rootElement) )
+     */
+    static boolean canHaveAsElement(Object element, Object rootElement) {
+        if (rootElement == null)
+            return element instanceof Comparable;
+        return canBeCompared(element, rootElement);
+    }
+
+    /**
+     * Add all elements of the given sorted binary tree that are between
+     * the given bounds to the given list, in ascending order.
+     *
+     * @param  tree
+     *         The tree whose elements must be collected.
+     * @param  low
+     *         The lower bound of the range.
+     * @param  high
+     *         The upper bound of the range.
+     * @param  result
+     *         The list to add the elements to.
+     */
+    static void addElementsBetween(BinaryTree tree, Object low, Object high,
+            List<Object> result) {
+        if (!(tree instanceof NonEmptyBinaryTree))
+            return;
+        NonEmptyBinaryTree nonEmptyTree = (NonEmptyBinaryTree) tree;
+        Object root = nonEmptyTree.getRootElement();
+        boolean aboveLow = compare(root, low) >= 0;
+        boolean belowHigh = compare(root, high) <= 0;
+        if (aboveLow)
+            addElementsBetween(nonEmptyTree.getLeftTree(), low, high, result);
+        if (aboveLow && belowHigh)
+            result.add(root);
+        if (belowHigh)
+            addElementsBetween(nonEmptyTree.getRightTree(), low, high, result);
+    }
+
+    /**
+     * Check whether this composed sorted binary tree can have occurrences
+     * of the given element.
+     *
+     * @return True if and only if the given element is comparable, and
+     *         can be compared with the root element of this composed
+     *         sorted binary tree.
+     *       | result == canHaveAsElement(element, getRootElement())
+     */
+    @Override
+    public boolean canHaveAsElement(Object element) {
+        return canHaveAsElement(element, getRootElement());
+    }
+
+    /**
+     * Check whether the given element is stored in the root of this
+     * composed sorted binary tree.
+     *
+     * @return True if and only if the given element can be an element of
+     *         this composed sorted binary tree and compares equal to its
+     *         root element.
+     *       | result ==
+     *       |   canHaveAsElement(element) &&
+     *       |   (element.compareTo(getRootElement()) == 0)
+     */
+    @Override
+    protected boolean hasAsRootElement(Object element) {
+        return canHaveAsElement(element)
+            && (compare(element, getRootElement()) == 0);
+    }
+
+    /**
+     * Return the number of occurrences of the given element in this
+     * composed sorted binary tree.
+     *
+     * @note   Only subtrees that may contain elements equal to the given
+     *         element are searched.
+     */
+    @Override
+    public int getNbOccurrencesOf(Object element) {
+        if (!canHaveAsElement(element))
+            return 0;
+        int comparison = compare(element, getRootElement());
+        if (comparison < 0)
+            return getLeftTree().getNbOccurrencesOf(element);
+        if (comparison > 0)
+            return getRightTree().getNbOccurrencesOf(element);
+        return 1 + getLeftTree().getNbOccurrencesOf(element)
+            + getRightTree().getNbOccurrencesOf(element);
+    }
+
+    /**
+     * Check whether this composed sorted binary tree has the given element
+     * as one of its elements.
+     */
+    @Override
+    public boolean hasAsElement(Object element) {
+        // Re-implementation for reasons of efficiency.
+        if (!canHaveAsElement(element))
+            return false;
+        int comparison = compare(element, getRootElement());
+        if (comparison < 0)
+            return getLeftTree().hasAsElement(element);
+        if (comparison > 0)
+            return getRightTree().hasAsElement(element);
+        return true;
+    }
+
+    /**
+     * Check whether this composed sorted binary tree has the given element
+     * as one of its elements.
+     *
+     * @return The same result as a sequential search.
+     *       | result == hasAsElement(element)
+     * @note   A sorted binary tree is searched along a single path, such
+     *         that there is nothing to gain from a parallel search.
+     */
+    @Override
+    public boolean hasAsElementInParallel(Object element) {
+        return hasAsElement(element);
+    }
+
+    /**
+     * Add the given element to this composed sorted binary tree.
+     *
+     * @return The resulting tree is balanced again; it is either this
+     *         composed sorted binary tree, or one of its subtrees upon
+     *         entry if a rotation was needed.
+     * @post   The given element is added to the left subtree if it is below
+     *         the root element, or to the right subtree otherwise.
+     */
+    @Override
+    public ComposedSortedBinaryTree addElement(Object element)
+            throws IllegalElementException {
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        if (compare(element, getRootElement()) < 0)
+            setLeftTree(getLeftTree().addElement(element));
+        else
+            setRightTree(getRightTree().addElement(element));
+        return (ComposedSortedBinaryTree) rebalance();
+    }
+
+    /**
+     * Return a new map from elements to numbers of occurrences, in which
+     * elements are looked up by comparing them.
+     */
+    @Override
+    protected Map<Object, Integer> createOccurrenceMap() {
+        return new TreeMap<Object, Integer>();
+    }
+
+    /**
+     * Rebuild this composed sorted binary tree as a perfectly balanced
+     * sorted tree storing the given elements.
+     *
+     * @note   The given elements are sorted first. Elements collected from
+     *         this tree form a sorted run, which keeps that sort cheap.
+     */
+    @Override
+    protected BinaryTree rebuild(Object[] elements) {
+        Arrays.sort(elements);
+        if (elements.length < 2)
+            return BalancedTreeBuilder.build(elements, true);
+        int middleIndex = elements.length / 2;
+        setRootElement(elements[middleIndex]);
+        setLeftTree(BalancedTreeBuilder.build(elements, 0, middleIndex, true));
+        setRightTree(BalancedTreeBuilder.build(elements, middleIndex + 1,
+            elements.length, true));
+        updateHeight();
+        return this;
+    }
+
+    /**
+     * Remove one occurrence of the given element from this composed
+     * sorted binary tree.
+     *
+     * @return A sorted binary leaf tree is returned if this composed sorted
+     *         binary tree only has 2 elements; otherwise the resulting tree
+     *         is balanced again.
+     *      | if (getNbElements() == 2)
+     *      |   then result instanceof LeafSortedBinaryTree
+     */
+    @Override
+    public NonEmptyBinaryTree removeElement(Object element)
+            throws IllegalElementException {
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        NonEmptyBinaryTree result = tryRemoveElement(element);
+        if (result == null)
+            throw new IllegalElementException(element, this, false);
+        return result;
+    }
+
+    /**
+     * Remove one occurrence of the given element from this composed
+     * sorted binary tree, if it has the given element as one of its
+     * elements.
+     *
+     * @return The null reference if this composed sorted binary tree does
+     *         not have the given element as one of its elements.
+     *       | if (! hasAsElement(element))
+     *       |   then result == null
+     */
+    @Override
+    public NonEmptyBinaryTree tryRemoveElement(Object element) {
+        if (!canHaveAsElement(element))
+            return null;
+        int comparison = compare(element, getRootElement());
+        if (comparison == 0)
+            return removeRootElement();
+        if (comparison < 0) {
+            BinaryTree leftTree = getLeftTree().tryRemoveElement(element);
+            if (leftTree == null)
+                return null;
+            setLeftTree(leftTree);
+        }
+        else {
+            BinaryTree rightTree = getRightTree().tryRemoveElement(element);
+            if (rightTree == null)
+                return null;
+            setRightTree(rightTree);
+        }
+        NonEmptyBinaryTree result = changeToLeafTree();
+        if (result != this)
+            return result;
+        return rebalance();
+    }
+
+    /**
+     * Remove the element stored in the root of this composed sorted
+     * binary tree.
+     *
+     * @return If one of the subtrees of this composed sorted binary tree
+     *         is empty, its other subtree; otherwise this composed sorted
+     *         binary tree, in which the smallest element of the right
+     *         subtree has replaced the root element, balanced again.
+     */
+    @Override
+    protected NonEmptyBinaryTree removeRootElement() {
+        if (getLeftTree().isEmpty()) {
+            detachSubTree(getRightTree());
+            return (NonEmptyBinaryTree) getRightTree();
+        }
+        if (getRightTree().isEmpty()) {
+            detachSubTree(getLeftTree());
+            return (NonEmptyBinaryTree) getLeftTree();
+        }
+        Object successor = ((SortedBinaryTree) getRightTree()).getMinimum();
+        setRootElement(successor);
+        setRightTree(getRightTree().removeElement(successor));
+        return rebalance();
+    }
+
+    /**
+     * Change this composed sorted binary tree into a sorted binary leaf
+     * tree, if it only has one element.
+     */
+    @Override
+    protected NonEmptyBinaryTree changeToLeafTree() {
+        try {
+            if (getLeftTree().isEmpty() && getRightTree().isEmpty())
+                return new LeafSortedBinaryTree(getRootElement());
+            else
+                return this;
+        }
+        catch (IllegalElementException exc) {
+            assert false;
+            return null;
+        }
+    }
+
+    /**
+     * Check whether this composed sorted binary tree can have the given
+     * binary tree as its left subtree.
+     *
+     * @return False if the given binary tree is not a sorted binary tree.
+     *       | if (! (tree instanceof SortedBinaryTree))
+     *       |   then result == false
+     */
+    @Override
+    protected boolean canHaveAsLeftTree(BinaryTree tree) {
+        return (tree instanceof SortedBinaryTree) && super.canHaveAsLeftTree(tree);
+    }
+
+    /**
+     * Check whether this composed sorted binary tree can have the given
+     * binary tree as its right subtree.
+     *
+     * @return False if the given binary tree is not a sorted binary tree.
+     *       | if (! (tree instanceof SortedBinaryTree))
+     *       |   then result == false
+     */
+    @Override
+    protected boolean canHaveAsRightTree(BinaryTree tree) {
+        return (tree instanceof SortedBinaryTree) && super.canHaveAsRightTree(tree);
+    }
+
+    /**
+     * Return the height of this composed sorted binary tree.
+     */
+    @Override
+    @Basic @Raw
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Return the height of the given sorted binary tree.
+     *
+     * @param  tree
+     *         The tree whose height must be returned.
+     */
+    private static int getHeightOf(BinaryTree tree) {
+        return ((SortedBinaryTree) tree).getHeight();
+    }
+
+    /**
+     * Recompute the height of this composed sorted binary tree from the
+     * heights of its subtrees.
+     *
+     * @post   The height of this composed sorted binary tree is one more
+     *         than the maximum of the heights of its subtrees.
+     *       | new.getHeight() == 1 +
+     *       |   Math.max(getLeftTree().getHeight(), getRightTree().getHeight())
+     */
+    private void updateHeight() {
+        this.height = 1 + Math.max(getHeightOf(getLeftTree()),
+            getHeightOf(getRightTree()));
+    }
+
+    /**
+     * Variable registering the height of this composed sorted binary tree.
+     */
+    private int height = 1;
+
+    /**
+     * Restore the balance of this composed sorted binary tree, after one of
+     * its subtrees has grown or shrunk by at most one level.
+     *
+     * @return The root of the balanced tree, storing the same elements as
+     *         this composed sorted binary tree upon entry.
+     */
+    private NonEmptyBinaryTree rebalance() {
+        updateHeight();
+        int balance = getHeightOf(getLeftTree()) - getHeightOf(getRightTree());
+        if (balance > 1) {
+            ComposedSortedBinaryTree leftTree = (ComposedSortedBinaryTree) getLeftTree();
+            if (getHeightOf(leftTree.getLeftTree()) < getHeightOf(leftTree.getRightTree()))
+                setLeftTree(leftTree.rotateLeft());
+            return rotateRight();
+        }
+        if (balance < -1) {
+            ComposedSortedBinaryTree rightTree = (ComposedSortedBinaryTree) getRightTree();
+            if (getHeightOf(rightTree.getRightTree()) < getHeightOf(rightTree.getLeftTree()))
+                setRightTree(rightTree.rotateRight());
+            return rotateLeft();
+        }
+        return this;
+    }
+
+    /**
+     * Rotate this composed sorted binary tree to the right.
+     *
+     * @pre    The left subtree of this composed sorted binary tree is not
+     *         empty.
+     *       | getLeftTree() instanceof NonEmptyBinaryTree
+     * @return A tree storing the root element of the left subtree of this
+     *         composed sorted binary tree upon entry, with (a leaf tree for)
+     *         this tree as its right subtree.
+     */
+    private ComposedSortedBinaryTree rotateRight() {
+        NonEmptyBinaryTree pivot = (NonEmptyBinaryTree) getLeftTree();
+        setLeftTree(pivot.getRightTree());
+        updateHeight();
+        NonEmptyBinaryTree rightTree = changeToLeafTree();
+        if (!(pivot instanceof ComposedSortedBinaryTree))
+            return new ComposedSortedBinaryTree(pivot.getRootElement(),
+                pivot.getLeftTree(), rightTree);
+        ComposedSortedBinaryTree result = (ComposedSortedBinaryTree) pivot;
+        result.setRightTree(rightTree);
+        result.updateHeight();
+        return result;
+    }
+
+    /**
+     * Rotate this composed sorted binary tree to the left.
+     *
+     * @pre    The right subtree of this composed sorted binary tree is not
+     *         empty.
+     *       | getRightTree() instanceof NonEmptyBinaryTree
+     * @return A tree storing the root element of the right subtree of this
+     *         composed sorted binary tree upon entry, with (a leaf tree for)
+     *         this tree as its left subtree.
+     */
+    private ComposedSortedBinaryTree rotateLeft() {
+        NonEmptyBinaryTree pivot = (NonEmptyBinaryTree) getRightTree();
+        setRightTree(pivot.getLeftTree());
+        updateHeight();
+        NonEmptyBinaryTree leftTree = changeToLeafTree();
+        if (!(pivot instanceof ComposedSortedBinaryTree))
+            return new ComposedSortedBinaryTree(pivot.getRootElement(),
+                leftTree, pivot.getRightTree());
+        ComposedSortedBinaryTree result = (ComposedSortedBinaryTree) pivot;
+        result.setLeftTree(leftTree);
+        result.updateHeight();
+        return result;
+    }
+
+    /**
+     * Return the smallest element in this composed sorted binary tree.
+     */
+    @Override
+    public Object getMinimum() {
+        if (getLeftTree().isEmpty())
+            return getRootElement();
+        return ((SortedBinaryTree) getLeftTree()).getMinimum();
+    }
+
+    /**
+     * Return the largest element in this composed sorted binary tree.
+     */
+    @Override
+    public Object getMaximum() {
+        if (getRightTree().isEmpty())
+            return getRootElement();
+        return ((SortedBinaryTree) getRightTree()).getMaximum();
+    }
+
+    /**
+     * Return the largest element in this composed sorted binary tree that
+     * is not above the given element.
+     */
+    @Override
+    public Object getFloor(Object element) {
+        if (!canHaveAsElement(element))
+            return null;
+        int comparison = compare(element, getRootElement());
+        if (comparison == 0)
+            return getRootElement();
+        if (comparison < 0)
+            return ((SortedBinaryTree) getLeftTree()).getFloor(element);
+        Object floor = ((SortedBinaryTree) getRightTree()).getFloor(element);
+        return (floor != null) ? floor : getRootElement();
+    }
+
+    /**
+     * Return the smallest element in this composed sorted binary tree that
+     * is not below the given element.
+     */
+    @Override
+    public Object getCeiling(Object element) {
+        if (!canHaveAsElement(element))
+            return null;
+        int comparison = compare(element, getRootElement());
+        if (comparison == 0)
+            return getRootElement();
+        if (comparison > 0)
+            return ((SortedBinaryTree) getRightTree()).getCeiling(element);
+        Object ceiling = ((SortedBinaryTree) getLeftTree()).getCeiling(element);
+        return (ceiling != null) ? ceiling : getRootElement();
+    }
+
+    /**
+     * Return the number of elements in this composed sorted binary tree
+     * that are below the given element.
+     *
+     * @note   The cached number of elements of the left subtree is used,
+     *         such that only a single path is followed.
+     */
+    @Override
+    public int getRank(Object element) {
+        if (!canHaveAsElement(element))
+            return 0;
+        if (compare(element, getRootElement()) <= 0)
+            return ((SortedBinaryTree) getLeftTree()).getRank(element);
+        return getLeftTree().getNbElements() + 1
+            + ((SortedBinaryTree) getRightTree()).getRank(element);
+    }
+
+    /**
+     * Return a list of all the elements in this composed sorted binary tree
+     * between the given bounds.
+     */
+    @Override
+    public List<Object> getElementsBetween(Object low, Object high) {
+        List<Object> result = new ArrayList<Object>();
+        if (canHaveAsElement(low) && canHaveAsElement(high))
+            addElementsBetween(this, low, high, result);
+        return result;
+    }
+
+}
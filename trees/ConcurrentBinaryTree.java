@@ -0,0 +1,283 @@
+package trees;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of binary trees that can be used by several threads at once.
+ *		A concurrent binary tree references a persistent binary tree as its
+ *		current snapshot. Inspectors work on the snapshot at hand and never
+ *		block. Mutators compute a new persistent tree from the snapshot,
+ *		sharing all nodes outside the affected path, and install it by means
+ *		of an atomic compare-and-set; they retry if another thread installed
+ *		a new snapshot in the meantime.
+ *
+ * @invar   The snapshot of each concurrent binary tree is a persistent
+ *          binary tree or an empty persistent binary tree.
+ *        | (getSnapshot() instanceof PersistentBinaryTree) ||
+ *        | (getSnapshot() instanceof EmptyPersistentBinaryTree)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class ConcurrentBinaryTree extends BinaryTree {
+
+	/**
+	 * Initialize this new concurrent binary tree with given elements.
+	 *
+	 * @param  elements
+	 *         The elements to be stored in this new concurrent binary tree.
+	 * @post   The number of occurrences of each object in this new concurrent
+	 *         binary tree is equal to the number of occurrences of that
+	 *         element in the given array of elements.
+	 *       | for each element in (Object union {null}):
+	 *       |   (new.getNbOccurrencesOf(element) ==
+	 *       |        ExtArray.getNbOcurrencesOf(elements,element))
+	 */
+	public ConcurrentBinaryTree(Object... elements) {
+		BinaryTree tree = EmptyPersistentBinaryTree.getPrototype();
+		for (Object element : elements)
+			tree = tree.addElement(element);
+		snapshot.set(tree);
+	}
+
+	/**
+	 * Return the current snapshot of this concurrent binary tree.
+	 *
+	 * @note   The resulting tree never changes; later additions and
+	 *         removals are only visible in later snapshots.
+	 */
+	@Basic
+	public BinaryTree getSnapshot() {
+		return snapshot.get();
+	}
+
+	/**
+	 * Variable referencing the current snapshot of this concurrent binary
+	 * tree.
+	 */
+	private final AtomicReference<BinaryTree> snapshot = new AtomicReference<BinaryTree>();
+
+	/**
+	 * Return the number of occurrences of the given element in this
+	 * concurrent binary tree.
+	 *
+	 * @return The number of occurrences of the given element in the
+	 *         current snapshot of this concurrent binary tree.
+	 *       | result == getSnapshot().getNbOccurrencesOf(element)
+	 */
+	@Override
+	public int getNbOccurrencesOf(Object element) {
+		return getSnapshot().getNbOccurrencesOf(element);
+	}
+
+	/**
+	 * Check whether this concurrent binary tree can have occurrences
+	 * of the given element.
+	 */
+	@Override
+	public boolean canHaveAsElement(Object element) {
+		return true;
+	}
+
+	/**
+	 * Check whether this concurrent binary tree has the given element as
+	 * one of its elements.
+	 *
+	 * @return True if and only if the current snapshot of this concurrent
+	 *         binary tree has the given element as one of its elements.
+	 *       | result == getSnapshot().hasAsElement(element)
+	 */
+	@Override
+	public boolean hasAsElement(Object element) {
+		return getSnapshot().hasAsElement(element);
+	}
+
+	/**
+	 * Check whether this concurrent binary tree has the given element as
+	 * one of its elements, searching in parallel.
+	 *
+	 * @return True if and only if the current snapshot of this concurrent
+	 *         binary tree has the given element as one of its elements.
+	 *       | result == getSnapshot().hasAsElementInParallel(element)
+	 */
+	@Override
+	public boolean hasAsElementInParallel(Object element) {
+		return getSnapshot().hasAsElementInParallel(element);
+	}
+
+	/**
+	 * Return the number of elements in this concurrent binary tree
+	 * satisfying the given predicate.
+	 *
+	 * @return The number of elements in the current snapshot of this
+	 *         concurrent binary tree satisfying the given predicate.
+	 *       | result == getSnapshot().count(predicate)
+	 */
+	@Override
+	public int count(Predicate<Object> predicate) {
+		return getSnapshot().count(predicate);
+	}
+
+	/**
+	 * Return the reduction of the elements of this concurrent binary tree.
+	 *
+	 * @return The reduction of the elements of the current snapshot of
+	 *         this concurrent binary tree.
+	 *       | result == getSnapshot().reduce(identity,accumulator,combiner)
+	 */
+	@Override
+	public <R> R reduce(R identity, BiFunction<R, Object, R> accumulator,
+			BinaryOperator<R> combiner) {
+		return getSnapshot().reduce(identity, accumulator, combiner);
+	}
+
+	/**
+	 * Return the total number of elements in this concurrent binary tree.
+	 *
+	 * @return The number of elements in the current snapshot of this
+	 *         concurrent binary tree.
+	 *       | result == getSnapshot().getNbElements()
+	 */
+	@Override
+	public int getNbElements() {
+		return getSnapshot().getNbElements();
+	}
+
+	/**
+	 * Add the given element to this concurrent binary tree.
+	 *
+	 * @return This concurrent binary tree.
+	 *       | result == this
+	 * @post   The new snapshot of this concurrent binary tree is the
+	 *         snapshot upon entry to which the given element is added,
+	 *         possibly after other additions and removals by other threads.
+	 */
+	@Override
+	public ConcurrentBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this);
+		while (true) {
+			BinaryTree current = snapshot.get();
+			if (snapshot.compareAndSet(current, current.addElement(element)))
+				return this;
+		}
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this concurrent
+	 * binary tree.
+	 *
+	 * @return This concurrent binary tree.
+	 *       | result == this
+	 * @throws IllegalElementException
+	 *         The snapshot of this concurrent binary tree at the time of
+	 *         the removal does not have the given element as one of its
+	 *         elements.
+	 */
+	@Override
+	public ConcurrentBinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		if (tryRemoveElement(element) == null)
+			throw new IllegalElementException(element, this, false);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this concurrent
+	 * binary tree, if its current snapshot has the given element as one
+	 * of its elements.
+	 *
+	 * @return The null reference if the snapshot at hand does not have
+	 *         the given element as one of its elements; this concurrent
+	 *         binary tree otherwise.
+	 */
+	@Override
+	public ConcurrentBinaryTree tryRemoveElement(Object element) {
+		while (true) {
+			BinaryTree current = snapshot.get();
+			BinaryTree next = current.tryRemoveElement(element);
+			if (next == null)
+				return null;
+			if (snapshot.compareAndSet(current, next))
+				return this;
+		}
+	}
+
+	/**
+	 * Check whether this concurrent binary tree has the given tree as a
+	 * direct or indirect subtree.
+	 *
+	 * @return True if and only if the given tree is the current snapshot
+	 *         of this concurrent binary tree or a subtree of that snapshot.
+	 *       | result ==
+	 *       |   (getSnapshot() == tree) || getSnapshot().hasAsSubTree(tree)
+	 */
+	@Override
+	protected boolean hasAsSubTree(BinaryTree tree) {
+		BinaryTree current = getSnapshot();
+		return (tree != null) && ((current == tree) || current.hasAsSubTree(tree));
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this concurrent
+	 * binary tree in in-order.
+	 *
+	 * @return An in-order iterator for the current snapshot of this
+	 *         concurrent binary tree.
+	 *       | result == getSnapshot().iterator()
+	 * @note   The resulting iterator is not affected by later changes.
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return getSnapshot().iterator();
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this concurrent
+	 * binary tree in pre-order.
+	 *
+	 * @return A pre-order iterator for the current snapshot of this
+	 *         concurrent binary tree.
+	 *       | result == getSnapshot().preOrderIterator()
+	 */
+	@Override
+	public Iterator<Object> preOrderIterator() {
+		return getSnapshot().preOrderIterator();
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this concurrent
+	 * binary tree in level-order.
+	 *
+	 * @return A level-order iterator for the current snapshot of this
+	 *         concurrent binary tree.
+	 *       | result == getSnapshot().levelOrderIterator()
+	 */
+	@Override
+	public Iterator<Object> levelOrderIterator() {
+		return getSnapshot().levelOrderIterator();
+	}
+
+	/**
+	 * Return a spliterator over all the elements of this concurrent binary
+	 * tree.
+	 *
+	 * @return A spliterator for the current snapshot of this concurrent
+	 *         binary tree.
+	 *       | result == getSnapshot().spliterator()
+	 */
+	@Override
+	public Spliterator<Object> spliterator() {
+		return getSnapshot().spliterator();
+	}
+
+}
@@ -0,0 +1,101 @@
+package trees;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An interface of codecs translating the elements of binary trees into
+ *		bytes and back.
+ *		Codecs are used to save binary trees to files. The null reference
+ *		is never passed to a codec; it is registered separately.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public interface ElementCodec {
+
+	/**
+	 * Write the given element to the given output.
+	 *
+	 * @param  element
+	 *         The element to write.
+	 * @param  out
+	 *         The output to write the element to.
+	 * @pre    The given element must be effective.
+	 *       | element != null
+	 * @throws IOException
+	 *         The given output could not be written.
+	 */
+	public void encode(Object element, DataOutput out) throws IOException;
+
+	/**
+	 * Read an element from the given buffer, starting at its current
+	 * position.
+	 *
+	 * @param  in
+	 *         The buffer to read the element from.
+	 * @return An element equal to the element that was encoded.
+	 * @post   The position of the given buffer is advanced past the bytes
+	 *         of the element.
+	 */
+	public Object decode(ByteBuffer in);
+
+	/**
+	 * A codec for integer elements, encoded in 4 bytes.
+	 */
+	public static final ElementCodec INTEGERS = new ElementCodec() {
+
+		@Override
+		public void encode(Object element, DataOutput out) throws IOException {
+			out.writeInt((Integer) element);
+		}
+
+		@Override
+		public Object decode(ByteBuffer in) {
+			return in.getInt();
+		}
+
+	};
+
+	/**
+	 * A codec for long elements, encoded in 8 bytes.
+	 */
+	public static final ElementCodec LONGS = new ElementCodec() {
+
+		@Override
+		public void encode(Object element, DataOutput out) throws IOException {
+			out.writeLong((Long) element);
+		}
+
+		@Override
+		public Object decode(ByteBuffer in) {
+			return in.getLong();
+		}
+
+	};
+
+	/**
+	 * A codec for string elements, encoded as their number of bytes
+	 * followed by their bytes in UTF-8.
+	 */
+	public static final ElementCodec STRINGS = new ElementCodec() {
+
+		@Override
+		public void encode(Object element, DataOutput out) throws IOException {
+			byte[] bytes = ((String) element).getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		@Override
+		public Object decode(ByteBuffer in) {
+			byte[] bytes = new byte[in.getInt()];
+			in.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+	};
+
+}
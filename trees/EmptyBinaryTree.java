@@ -57,12 +57,12 @@ public class EmptyBinaryTree extends BinaryTree {
      * Return the number of occurrences of the given element in this
      * empty binary tree.
      *
-     * @return  ...
-     * 			| ...
+     * @return Always 0.
+     *       | result == 0
      */
 	@Override
     public int getNbOccurrencesOf(Object element) {
-        return -1;
+        return 0;
     }
 
     /**
@@ -114,11 +114,22 @@ public class EmptyBinaryTree extends BinaryTree {
 
     /**
      * Add the given element to this empty binary tree.
+     *
+     * @return A new binary leaf tree storing the given element as its
+     *         only element.
+     *       | (result instanceof LeafBinaryTree) &&
+     *       | (result.getNbOccurrencesOf(element) == 1)
+     * @throws IllegalElementException
+     *         This empty binary tree cannot have the given element
+     *         as one of its elements.
+     *       | ! canHaveAsElement(element)
      */
     @Override
     public BinaryTree addElement(Object element)
             throws IllegalElementException {
-    	return null;
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        return new LeafBinaryTree(element);
     }
 
     /**
@@ -132,7 +143,19 @@ public class EmptyBinaryTree extends BinaryTree {
     @Override
     public BinaryTree removeElement(Object element)
             throws IllegalElementException {
-        throw new IllegalElementException(element, this);
+        throw new IllegalElementException(element, this, false);
+    }
+
+    /**
+     * Remove one occurrence of the given element from this empty binary
+     * tree, if it has the given element as one of its elements.
+     *
+     * @return Always the null reference.
+     *       | result == null
+     */
+    @Override
+    public BinaryTree tryRemoveElement(Object element) {
+        return null;
     }
 
 	/**
@@ -0,0 +1,115 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of empty int binary trees.
+ *     An empty int binary tree has no nodes in which values are stored.
+ *
+ * @invar   Each empty int binary tree has no occurrences of any value.
+ *        | for each element in int:
+ *        |   (getNbOccurrencesOf(element) == 0)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class EmptyIntBinaryTree extends IntBinaryTree {
+
+    /**
+     * Return a reference to a predefined empty int binary tree.
+     *
+     * @return A reference to an effective predefined empty int binary tree
+     *         (all empty int binary trees are identical, because they do not
+     *         store any values).
+     *       | result != null
+     */
+	@Immutable
+    public static EmptyIntBinaryTree getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * Initialize this new empty int binary tree.
+     */
+    protected EmptyIntBinaryTree() {
+    }
+
+    /**
+     * The prototype instance of an empty int binary tree.
+     */
+    private final static EmptyIntBinaryTree prototype = new EmptyIntBinaryTree();
+
+    /**
+     * Return the number of occurrences of the given value in this
+     * empty int binary tree.
+     *
+     * @return Always 0.
+     *       | result == 0
+     */
+    @Override
+    public int getNbOccurrencesOf(int element) {
+        return 0;
+    }
+
+    /**
+     * Check whether this empty int binary tree has the given value as one
+     * of its elements.
+     *
+     * @return Always false.
+     *       | result == false
+     */
+    @Override
+    public boolean hasAsElement(int element) {
+        return false;
+    }
+
+    /**
+     * Check whether this empty int binary tree can have the given number of
+     * occurrences of the given element as the number of occurrences of
+     * that element in it.
+     *
+     * @return True if and only if the given number of occurrences is zero.
+     *       | result == (nbOccurrences == 0)
+     */
+    @Override
+    public boolean canHaveAsNbOccursOfElement(int nbOccurrences,
+            Object element) {
+        return (nbOccurrences == 0);
+    }
+
+    /**
+     * Return the total number of elements in this empty int binary tree.
+     *
+     * @return Always 0.
+     *       | result == 0
+     */
+    @Override
+    public int getNbElements() {
+        return 0;
+    }
+
+    /**
+     * Add the given value to this empty int binary tree.
+     *
+     * @return A new int binary leaf tree storing the given value.
+     *       | (result instanceof LeafIntBinaryTree) &&
+     *       | (result.getNbOccurrencesOf(element) == 1)
+     */
+    @Override
+    public LeafIntBinaryTree addElement(int element) {
+        return new LeafIntBinaryTree(element);
+    }
+
+    /**
+     * Remove one occurrence of the given value from this empty int binary
+     * tree, if it has the given value as one of its elements.
+     *
+     * @return Always the null reference.
+     *       | result == null
+     */
+    @Override
+    public IntBinaryTree tryRemoveElement(int element) {
+        return null;
+    }
+
+}
@@ -0,0 +1,115 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of empty long binary trees.
+ *     An empty long binary tree has no nodes in which values are stored.
+ *
+ * @invar   Each empty long binary tree has no occurrences of any value.
+ *        | for each element in long:
+ *        |   (getNbOccurrencesOf(element) == 0)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class EmptyLongBinaryTree extends LongBinaryTree {
+
+    /**
+     * Return a reference to a predefined empty long binary tree.
+     *
+     * @return A reference to an effective predefined empty long binary tree
+     *         (all empty long binary trees are identical, because they do not
+     *         store any values).
+     *       | result != null
+     */
+	@Immutable
+    public static EmptyLongBinaryTree getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * Initialize this new empty long binary tree.
+     */
+    protected EmptyLongBinaryTree() {
+    }
+
+    /**
+     * The prototype instance of an empty long binary tree.
+     */
+    private final static EmptyLongBinaryTree prototype = new EmptyLongBinaryTree();
+
+    /**
+     * Return the number of occurrences of the given value in this
+     * empty long binary tree.
+     *
+     * @return Always 0.
+     *       | result == 0
+     */
+    @Override
+    public int getNbOccurrencesOf(long element) {
+        return 0;
+    }
+
+    /**
+     * Check whether this empty long binary tree has the given value as one
+     * of its elements.
+     *
+     * @return Always false.
+     *       | result == false
+     */
+    @Override
+    public boolean hasAsElement(long element) {
+        return false;
+    }
+
+    /**
+     * Check whether this empty long binary tree can have the given number of
+     * occurrences of the given element as the number of occurrences of
+     * that element in it.
+     *
+     * @return True if and only if the given number of occurrences is zero.
+     *       | result == (nbOccurrences == 0)
+     */
+    @Override
+    public boolean canHaveAsNbOccursOfElement(int nbOccurrences,
+            Object element) {
+        return (nbOccurrences == 0);
+    }
+
+    /**
+     * Return the total number of elements in this empty long binary tree.
+     *
+     * @return Always 0.
+     *       | result == 0
+     */
+    @Override
+    public int getNbElements() {
+        return 0;
+    }
+
+    /**
+     * Add the given value to this empty long binary tree.
+     *
+     * @return A new long binary leaf tree storing the given value.
+     *       | (result instanceof LeafLongBinaryTree) &&
+     *       | (result.getNbOccurrencesOf(element) == 1)
+     */
+    @Override
+    public LeafLongBinaryTree addElement(long element) {
+        return new LeafLongBinaryTree(element);
+    }
+
+    /**
+     * Remove one occurrence of the given value from this empty long binary
+     * tree, if it has the given value as one of its elements.
+     *
+     * @return Always the null reference.
+     *       | result == null
+     */
+    @Override
+    public LongBinaryTree tryRemoveElement(long element) {
+        return null;
+    }
+
+}
@@ -0,0 +1,55 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of empty persistent binary trees.
+ *     An empty persistent binary tree has no nodes in which elements are
+ *     stored. Adding an element to it yields a new persistent binary tree.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class EmptyPersistentBinaryTree extends EmptyBinaryTree {
+
+    /**
+     * Return a reference to a predefined empty persistent binary tree.
+     *
+     * @return A reference to an effective predefined empty persistent
+     *         binary tree.
+     *       | result != null
+     */
+	@Immutable
+    public static EmptyPersistentBinaryTree getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * Initialize this new empty persistent binary tree.
+     */
+    protected EmptyPersistentBinaryTree() {
+    }
+
+    /**
+     * The prototype instance of an empty persistent binary tree.
+     */
+    private final static EmptyPersistentBinaryTree prototype = new EmptyPersistentBinaryTree();
+
+    /**
+     * Add the given element to this empty persistent binary tree.
+     *
+     * @return A new persistent binary tree storing the given element as
+     *         its only element.
+     *       | (result instanceof PersistentBinaryTree) &&
+     *       | (result.getNbOccurrencesOf(element) == 1)
+     */
+    @Override
+    public PersistentBinaryTree addElement(Object element)
+            throws IllegalElementException {
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        return new PersistentBinaryTree(element);
+    }
+
+}
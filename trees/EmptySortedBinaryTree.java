@@ -0,0 +1,151 @@
+package trees;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of empty sorted binary trees.
+ *     An empty sorted binary tree has no nodes in which elements are stored.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class EmptySortedBinaryTree extends EmptyBinaryTree implements
+		SortedBinaryTree {
+
+    /**
+     * Return a reference to a predefined empty sorted binary tree.
+     *
+     * @return A reference to an effective predefined empty sorted binary
+     *         tree.
+     *       | result != null
+     */
+	@Immutable
+    public static EmptySortedBinaryTree getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * Initialize this new empty sorted binary tree.
+     */
+    protected EmptySortedBinaryTree() {
+    }
+
+    /**
+     * The prototype instance of an empty sorted binary tree.
+     */
+    private final static EmptySortedBinaryTree prototype = new EmptySortedBinaryTree();
+
+    /**
+     * Check whether this empty sorted binary tree can have occurrences
+     * of the given element.
+     *
+     * @return True if and only if the given element is comparable.
+     *       | result == (element instanceof Comparable)
+     */
+    @Override
+    public boolean canHaveAsElement(Object element) {
+        return element instanceof Comparable;
+    }
+
+    /**
+     * Add the given element to this empty sorted binary tree.
+     *
+     * @return A new sorted binary leaf tree storing the given element as
+     *         its only element.
+     *       | (result instanceof LeafSortedBinaryTree) &&
+     *       | (result.getNbOccurrencesOf(element) == 1)
+     */
+    @Override
+    public LeafSortedBinaryTree addElement(Object element)
+            throws IllegalElementException {
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        return new LeafSortedBinaryTree(element);
+    }
+
+    /**
+     * Return the height of this empty sorted binary tree.
+     *
+     * @return Always 0.
+     *       | result == 0
+     */
+    @Override
+    public int getHeight() {
+        return 0;
+    }
+
+    /**
+     * Return the smallest element in this empty sorted binary tree.
+     *
+     * @return Always null.
+     *       | result == null
+     */
+    @Override
+    public Object getMinimum() {
+        return null;
+    }
+
+    /**
+     * Return the largest element in this empty sorted binary tree.
+     *
+     * @return Always null.
+     *       | result == null
+     */
+    @Override
+    public Object getMaximum() {
+        return null;
+    }
+
+    /**
+     * Return the largest element in this empty sorted binary tree that is
+     * not above the given element.
+     *
+     * @return Always null.
+     *       | result == null
+     */
+    @Override
+    public Object getFloor(Object element) {
+        return null;
+    }
+
+    /**
+     * Return the smallest element in this empty sorted binary tree that is
+     * not below the given element.
+     *
+     * @return Always null.
+     *       | result == null
+     */
+    @Override
+    public Object getCeiling(Object element) {
+        return null;
+    }
+
+    /**
+     * Return the number of elements in this empty sorted binary tree that
+     * are below the given element.
+     *
+     * @return Always 0.
+     *       | result == 0
+     */
+    @Override
+    public int getRank(Object element) {
+        return 0;
+    }
+
+    /**
+     * Return a list of all the elements in this empty sorted binary tree
+     * between the given bounds.
+     *
+     * @return An empty list.
+     *       | result.isEmpty()
+     */
+    @Override
+    public List<Object> getElementsBetween(Object low, Object high) {
+        return new ArrayList<Object>();
+    }
+
+}
@@ -0,0 +1,65 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A class of iterators returning the elements of a binary tree in
+ * in-order: the elements of the left subtree of each node come before
+ * the element in that node, and the elements of its right subtree after it.
+ *		The iterator uses an explicit stack of nodes, bounded by the height
+ *		of the tree, instead of recursion.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+class InOrderIterator implements Iterator<Object> {
+
+	/**
+	 * Initialize this new in-order iterator for the given binary tree.
+	 *
+	 * @param  tree
+	 *         The binary tree to iterate over.
+	 */
+	InOrderIterator(BinaryTree tree) {
+		pushLeftPath(tree);
+	}
+
+	/**
+	 * Push the given tree and all the roots of its leftmost path on the
+	 * stack of pending nodes.
+	 *
+	 * @param  tree
+	 *         The tree whose leftmost path must be pushed.
+	 */
+	private void pushLeftPath(BinaryTree tree) {
+		while (tree instanceof NonEmptyBinaryTree) {
+			NonEmptyBinaryTree node = (NonEmptyBinaryTree) tree;
+			pending.push(node);
+			tree = node.getLeftTree();
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !pending.isEmpty();
+	}
+
+	@Override
+	public Object next() throws NoSuchElementException {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		NonEmptyBinaryTree node = pending.pop();
+		pushLeftPath(node.getRightTree());
+		return node.getRootElement();
+	}
+
+	/**
+	 * Variable referencing the stack of nodes whose element and right
+	 * subtree have not been returned yet.
+	 */
+	private final Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+
+}
@@ -0,0 +1,345 @@
+package trees;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+import trees.exceptions.*;
+
+/**
+ * A class of binary trees complemented with an index registering the
+ * number of occurrences of each of their elements.
+ *		An indexed binary tree stores its elements in a backing binary tree,
+ *		and keeps an index from elements to their number of occurrences
+ *		up to date with each addition and removal. Membership and count
+ *		queries are answered by the index, rather than by a traversal of
+ *		the backing tree. The index matches elements the way the backing
+ *		tree does: it is a hash index in general, and a sorted index
+ *		matching elements by means of compareTo for sorted backing trees.
+ *
+ * @invar   The number of occurrences of each object in the index of each
+ *          indexed binary tree is equal to the number of occurrences of
+ *          that object in its backing tree.
+ *        | for each element in (Object union {null}):
+ *        |   getNbOccurrencesOf(element) ==
+ *        |       getBackingTree().getNbOccurrencesOf(element)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class IndexedBinaryTree extends BinaryTree {
+
+	/**
+	 * Initialize this new indexed binary tree with the given binary tree
+	 * as its backing tree.
+	 *
+	 * @param  tree
+	 *         The backing tree for this new indexed binary tree.
+	 * @post   The backing tree of this new indexed binary tree is the
+	 *         same as the given tree.
+	 *       | new.getBackingTree() == tree
+	 * @throws IllegalArgumentException
+	 *         The given tree is not effective.
+	 *       | tree == null
+	 * @note   The index is built in a single traversal of the given tree.
+	 *         The given tree must not be changed any further, except
+	 *         through this new indexed binary tree.
+	 */
+	public IndexedBinaryTree(BinaryTree tree) throws IllegalArgumentException {
+		if (tree == null)
+			throw new IllegalArgumentException();
+		this.backingTree = tree;
+		if (tree instanceof SortedBinaryTree)
+			this.occurrences = new TreeMap<Object, Integer>();
+		else
+			this.occurrences = new HashMap<Object, Integer>();
+		for (Object element : tree)
+			registerOccurrence(element);
+	}
+
+	/**
+	 * Initialize this new indexed binary tree without any elements.
+	 *
+	 * @effect This new indexed binary tree is initialized with the
+	 *         empty binary tree as its backing tree.
+	 *       | this(EmptyBinaryTree.getPrototype())
+	 */
+	public IndexedBinaryTree() {
+		this(EmptyBinaryTree.getPrototype());
+	}
+
+	/**
+	 * Return the number of occurrences of the given element in this
+	 * indexed binary tree.
+	 *
+	 * @return Zero if the backing tree of this indexed binary tree cannot
+	 *         have the given element as one of its elements.
+	 *       | if (! getBackingTree().canHaveAsElement(element))
+	 *       |   then result == 0
+	 * @note   The number of occurrences is looked up in the index of
+	 *         this indexed binary tree.
+	 */
+	@Override
+	@Basic @Raw
+	public int getNbOccurrencesOf(Object element) {
+		if (!canHaveAsElement(element))
+			return 0;
+		Integer nbOccurrences = occurrences.get(element);
+		return (nbOccurrences == null) ? 0 : nbOccurrences;
+	}
+
+	/**
+	 * Check whether this indexed binary tree can have occurrences
+	 * of the given element.
+	 *
+	 * @return True if and only if the backing tree of this indexed
+	 *         binary tree can have occurrences of the given element.
+	 *       | result == getBackingTree().canHaveAsElement(element)
+	 */
+	@Override
+	@Raw
+	public boolean canHaveAsElement(Object element) {
+		return getBackingTree().canHaveAsElement(element);
+	}
+
+	/**
+	 * Check whether this indexed binary tree has the given element as one
+	 * of its elements.
+	 */
+	@Override
+	public boolean hasAsElement(Object element) {
+		// Re-implementation for reasons of efficiency.
+		return canHaveAsElement(element) && occurrences.containsKey(element);
+	}
+
+	/**
+	 * Return the number of elements in this indexed binary tree
+	 * satisfying the given predicate.
+	 *
+	 * @return The number of elements in the backing tree of this indexed
+	 *         binary tree satisfying the given predicate.
+	 *       | result == getBackingTree().count(predicate)
+	 */
+	@Override
+	public int count(Predicate<Object> predicate) {
+		return getBackingTree().count(predicate);
+	}
+
+	/**
+	 * Return the reduction of the elements of this indexed binary tree.
+	 *
+	 * @return The reduction of the elements of the backing tree of this
+	 *         indexed binary tree.
+	 *       | result == getBackingTree().reduce(identity,accumulator,combiner)
+	 */
+	@Override
+	public <R> R reduce(R identity, BiFunction<R, Object, R> accumulator,
+			BinaryOperator<R> combiner) {
+		return getBackingTree().reduce(identity, accumulator, combiner);
+	}
+
+	/**
+	 * Return the total number of elements in this indexed binary tree.
+	 *
+	 * @return The total number of elements in the backing tree of this
+	 *         indexed binary tree.
+	 *       | result == getBackingTree().getNbElements()
+	 */
+	@Override
+	@Raw
+	public int getNbElements() {
+		return getBackingTree().getNbElements();
+	}
+
+	/**
+	 * Add the given element to this indexed binary tree.
+	 *
+	 * @return This indexed binary tree.
+	 *       | result == this
+	 * @effect The given element is added to the backing tree of this
+	 *         indexed binary tree.
+	 *       | setBackingTree(getBackingTree().addElement(element))
+	 */
+	@Override
+	public IndexedBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		setBackingTree(getBackingTree().addElement(element));
+		registerOccurrence(element);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this indexed
+	 * binary tree.
+	 *
+	 * @return This indexed binary tree.
+	 *       | result == this
+	 * @effect One occurrence of the given element is removed from the
+	 *         backing tree of this indexed binary tree.
+	 *       | setBackingTree(getBackingTree().removeElement(element))
+	 * @note   Missing elements are detected by means of the index, without
+	 *         any traversal of the backing tree.
+	 */
+	@Override
+	public IndexedBinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		if (tryRemoveElement(element) == null)
+			throw new IllegalElementException(element, this, false);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this indexed binary
+	 * tree, if it has the given element as one of its elements.
+	 *
+	 * @return The null reference if the index of this indexed binary tree
+	 *         has no occurrences of the given element; this indexed binary
+	 *         tree otherwise.
+	 */
+	@Override
+	public IndexedBinaryTree tryRemoveElement(Object element) {
+		if (!hasAsElement(element))
+			return null;
+		setBackingTree(getBackingTree().removeElement(element));
+		unregisterOccurrence(element);
+		return this;
+	}
+
+	/**
+	 * Register an additional occurrence of the given element in the
+	 * index of this indexed binary tree.
+	 *
+	 * @param  element
+	 *         The element to register.
+	 */
+	private void registerOccurrence(Object element) {
+		occurrences.put(element, getNbOccurrencesOf(element) + 1);
+	}
+
+	/**
+	 * Unregister one occurrence of the given element from the index of
+	 * this indexed binary tree.
+	 *
+	 * @param  element
+	 *         The element to unregister.
+	 */
+	private void unregisterOccurrence(Object element) {
+		int nbOccurrences = getNbOccurrencesOf(element);
+		if (nbOccurrences <= 1)
+			occurrences.remove(element);
+		else
+			occurrences.put(element, nbOccurrences - 1);
+	}
+
+	/**
+	 * Variable referencing the index of this indexed binary tree, mapping
+	 * each of its elements to its number of occurrences. Elements that
+	 * compare equal share a single entry if the backing tree is sorted.
+	 */
+	private final Map<Object, Integer> occurrences;
+
+	/**
+	 * Return the backing tree of this indexed binary tree.
+	 */
+	@Basic @Raw
+	protected BinaryTree getBackingTree() {
+		return this.backingTree;
+	}
+
+	/**
+	 * Set the backing tree of this indexed binary tree to the given tree.
+	 *
+	 * @param  tree
+	 *         The new backing tree for this indexed binary tree.
+	 * @pre    The given tree must be effective.
+	 *       | tree != null
+	 * @post   The backing tree of this indexed binary tree is the same as
+	 *         the given tree.
+	 *       | new.getBackingTree() == tree
+	 */
+	private void setBackingTree(BinaryTree tree) {
+		assert tree != null;
+		this.backingTree = tree;
+	}
+
+	/**
+	 * Variable referencing the backing tree of this indexed binary tree.
+	 */
+	private BinaryTree backingTree;
+
+	/**
+	 * Check whether this indexed binary tree has the given tree as a
+	 * direct or indirect subtree.
+	 *
+	 * @return True if and only if the given tree is the backing tree of
+	 *         this indexed binary tree or a subtree of that backing tree.
+	 *       | result ==
+	 *       |   (getBackingTree() == tree) ||
+	 *       |   getBackingTree().hasAsSubTree(tree)
+	 */
+	@Override
+	protected boolean hasAsSubTree(BinaryTree tree) {
+		return (tree != null) && ((getBackingTree() == tree)
+				|| getBackingTree().hasAsSubTree(tree));
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this indexed binary
+	 * tree in in-order.
+	 *
+	 * @return An in-order iterator for the backing tree of this indexed
+	 *         binary tree.
+	 *       | result == getBackingTree().iterator()
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return getBackingTree().iterator();
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this indexed binary
+	 * tree in pre-order.
+	 *
+	 * @return A pre-order iterator for the backing tree of this indexed
+	 *         binary tree.
+	 *       | result == getBackingTree().preOrderIterator()
+	 */
+	@Override
+	public Iterator<Object> preOrderIterator() {
+		return getBackingTree().preOrderIterator();
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this indexed binary
+	 * tree in level-order.
+	 *
+	 * @return A level-order iterator for the backing tree of this indexed
+	 *         binary tree.
+	 *       | result == getBackingTree().levelOrderIterator()
+	 */
+	@Override
+	public Iterator<Object> levelOrderIterator() {
+		return getBackingTree().levelOrderIterator();
+	}
+
+	/**
+	 * Return a spliterator over all the elements of this indexed binary
+	 * tree.
+	 *
+	 * @return A spliterator for the backing tree of this indexed binary
+	 *         tree.
+	 *       | result == getBackingTree().spliterator()
+	 */
+	@Override
+	public Spliterator<Object> spliterator() {
+		return getBackingTree().spliterator();
+	}
+
+}
@@ -0,0 +1,260 @@
+package trees;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of binary trees for storing int values.
+ *		Int binary trees store their elements as primitive int values,
+ *		such that adding, looking up and removing elements neither boxes
+ *		them nor compares them by means of equals. The methods inherited
+ *		from binary trees accept and return Integer objects, and are
+ *		translated into the corresponding methods on int values.
+ *
+ * @invar   Each int binary tree can only have Integer objects as its elements.
+ *        | for each element in Object:
+ *        |   canHaveAsElement(element) == (element instanceof Integer)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public abstract class IntBinaryTree extends PrimitiveBinaryTree {
+
+	/**
+	 * Return a perfectly balanced int binary tree storing the given
+	 * elements.
+	 *
+	 * @param  elements
+	 *         The elements to be stored in the resulting tree.
+	 * @return An empty int binary tree if no elements are given, a int
+	 *         binary leaf tree if a single element is given, and a composed
+	 *         int binary tree otherwise.
+	 * @return The number of occurrences of each value in the resulting
+	 *         tree is equal to the number of occurrences of that value in
+	 *         the given array of elements.
+	 */
+	public static IntBinaryTree fromInts(int... elements) {
+		return ComposedIntBinaryTree.build(elements, 0, elements.length);
+	}
+
+	/**
+	 * Initialize this new int binary tree with no elements.
+	 */
+	@Raw
+	protected IntBinaryTree() {
+	}
+
+	/**
+	 * Return the number of occurrences of the given value in this
+	 * int binary tree.
+	 *
+	 * @param  element
+	 *         The value to count.
+	 */
+	public abstract int getNbOccurrencesOf(int element);
+
+	/**
+	 * Return the number of occurrences of the given element in this
+	 * int binary tree.
+	 *
+	 * @return Zero if the given element is not a Integer object; the number
+	 *         of occurrences of its value otherwise.
+	 *       | if (! (element instanceof Integer))
+	 *       |   then result == 0
+	 *       |   else result == getNbOccurrencesOf(((Integer) element).intValue())
+	 */
+	@Override
+	public final int getNbOccurrencesOf(Object element) {
+		if (!(element instanceof Integer))
+			return 0;
+		return getNbOccurrencesOf(((Integer) element).intValue());
+	}
+
+	/**
+	 * Check whether this int binary tree can have occurrences of the
+	 * given element.
+	 *
+	 * @return True if and only if the given element is a Integer object.
+	 *       | result == (element instanceof Integer)
+	 */
+	@Override
+	public final boolean canHaveAsElement(Object element) {
+		return element instanceof Integer;
+	}
+
+	/**
+	 * Check whether this int binary tree has the given value as one of
+	 * its elements.
+	 *
+	 * @param  element
+	 *         The value to check.
+	 * @return True if and only if the given value occurs at least once
+	 *         in this int binary tree.
+	 *       | result == (getNbOccurrencesOf(element) > 0)
+	 */
+	public boolean hasAsElement(int element) {
+		return getNbOccurrencesOf(element) > 0;
+	}
+
+	/**
+	 * Check whether this int binary tree has the given element as one of
+	 * its elements.
+	 *
+	 * @return False if the given element is not a Integer object; whether
+	 *         this int binary tree has its value as one of its elements
+	 *         otherwise.
+	 *       | if (! (element instanceof Integer))
+	 *       |   then result == false
+	 *       |   else result == hasAsElement(((Integer) element).intValue())
+	 */
+	@Override
+	public final boolean hasAsElement(Object element) {
+		return (element instanceof Integer)
+				&& hasAsElement(((Integer) element).intValue());
+	}
+
+	/**
+	 * Add the given value to this int binary tree.
+	 *
+	 * @param  element
+	 *         The value to be added.
+	 * @return The number of occurrences of the given value in the
+	 *         resulting tree is one higher than the number of its
+	 *         occurrences in this int binary tree (upon entry).
+	 *       | result.getNbOccurrencesOf(element) ==
+	 *       |     this.getNbOccurencesOf(element) + 1
+	 */
+	public abstract IntBinaryTree addElement(int element);
+
+	/**
+	 * Add the given element to this int binary tree.
+	 *
+	 * @effect The value of the given element is added to this int binary
+	 *         tree.
+	 *       | result == addElement(((Integer) element).intValue())
+	 * @throws IllegalElementException
+	 *         The given element is not a Integer object.
+	 *       | ! canHaveAsElement(element)
+	 */
+	@Override
+	public final IntBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this);
+		return addElement(((Integer) element).intValue());
+	}
+
+	/**
+	 * Remove one occurrence of the given value from this int binary tree.
+	 *
+	 * @param  element
+	 *         The value for which one occurrence must be removed.
+	 * @effect One occurrence of the given value is removed from this
+	 *         int binary tree.
+	 *       | result == tryRemoveElement(element)
+	 * @throws IllegalElementException
+	 *         This int binary tree does not have the given value as one of
+	 *         its elements.
+	 *       | ! hasAsElement(element)
+	 */
+	public IntBinaryTree removeElement(int element)
+			throws IllegalElementException {
+		IntBinaryTree result = tryRemoveElement(element);
+		if (result == null)
+			throw new IllegalElementException(element, this, false);
+		return result;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this int binary tree.
+	 *
+	 * @effect One occurrence of the value of the given element is removed
+	 *         from this int binary tree.
+	 *       | result == removeElement(((Integer) element).intValue())
+	 * @throws IllegalElementException
+	 *         This int binary tree does not have the given element as one
+	 *         of its elements.
+	 *       | ! hasAsElement(element)
+	 */
+	@Override
+	public final IntBinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this, false);
+		return removeElement(((Integer) element).intValue());
+	}
+
+	/**
+	 * Remove one occurrence of the given value from this int binary tree,
+	 * if it has the given value as one of its elements.
+	 *
+	 * @param  element
+	 *         The value for which one occurrence must be removed.
+	 * @return The null reference if this int binary tree does not have the
+	 *         given value as one of its elements; in that case this int
+	 *         binary tree is left untouched.
+	 *       | if (! hasAsElement(element))
+	 *       |   then result == null
+	 */
+	public abstract IntBinaryTree tryRemoveElement(int element);
+
+	/**
+	 * Remove one occurrence of the given element from this int binary
+	 * tree, if it has the given element as one of its elements.
+	 *
+	 * @return The null reference if the given element is not a Integer
+	 *         object; the result of removing its value otherwise.
+	 *       | if (! (element instanceof Integer))
+	 *       |   then result == null
+	 *       |   else result == tryRemoveElement(((Integer) element).intValue())
+	 */
+	@Override
+	public final IntBinaryTree tryRemoveElement(Object element) {
+		if (!(element instanceof Integer))
+			return null;
+		return tryRemoveElement(((Integer) element).intValue());
+	}
+
+	/**
+	 * Return an iterator returning all the values of this int binary tree
+	 * in in-order, without boxing them.
+	 *
+	 * @return Each value of this int binary tree is returned by the
+	 *         resulting iterator as many times as it occurs in this tree.
+	 * @note   The resulting iterator does not use recursion; the amount of
+	 *         memory it uses is proportional to the height of this tree.
+	 */
+	public PrimitiveIterator.OfInt intIterator() {
+		Iterator<PrimitiveBinaryTree> nodes = nodeIterator(Order.IN_ORDER);
+		return new PrimitiveIterator.OfInt() {
+
+			@Override
+			public boolean hasNext() {
+				return nodes.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return ((NonEmptyIntBinaryTree) nodes.next()).getRootElement();
+			}
+
+		};
+	}
+
+	/**
+	 * Return a sequential stream of all the values of this int binary
+	 * tree, in in-order.
+	 */
+	public IntStream intStream() {
+		return StreamSupport.intStream(Spliterators.spliterator(intIterator(),
+				getNbElements(), Spliterator.ORDERED), false);
+	}
+
+}
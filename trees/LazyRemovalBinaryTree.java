@@ -0,0 +1,443 @@
+package trees;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of binary trees postponing the removal of their elements.
+ *		A lazy removal binary tree stores its elements in a backing binary
+ *		tree. Removing an element only registers a tombstone for it; the
+ *		backing tree is left untouched. As soon as the number of tombstones
+ *		exceeds a given fraction of the number of elements in the backing
+ *		tree, all tombstoned elements are removed from the backing tree in
+ *		a single bulk removal, which rebuilds it as a balanced tree.
+ *		Adding an element that has a tombstone revives it, without changing
+ *		the backing tree either.
+ *
+ * @invar   The number of occurrences of each element in each lazy removal
+ *          binary tree is the number of its occurrences in the backing tree,
+ *          decremented with its number of tombstones.
+ *        | for each element in (Object union {null}):
+ *        |   getNbOccurrencesOf(element) ==
+ *        |     getBackingTree().getNbOccurrencesOf(element) -
+ *        |     getNbTombstonesOf(element)
+ * @invar   The maximal tombstone ratio of each lazy removal binary tree is
+ *          a valid tombstone ratio.
+ *        | isValidTombstoneRatio(getMaxTombstoneRatio())
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class LazyRemovalBinaryTree extends BinaryTree {
+
+	/**
+	 * Initialize this new lazy removal binary tree with the given binary
+	 * tree as its backing tree and with the given maximal tombstone ratio.
+	 *
+	 * @param  tree
+	 *         The backing tree for this new lazy removal binary tree.
+	 * @param  maxTombstoneRatio
+	 *         The maximal tombstone ratio for this new lazy removal binary
+	 *         tree.
+	 * @post   The backing tree of this new lazy removal binary tree is the
+	 *         same as the given tree.
+	 *       | new.getBackingTree() == tree
+	 * @post   The maximal tombstone ratio of this new lazy removal binary
+	 *         tree is equal to the given ratio.
+	 *       | new.getMaxTombstoneRatio() == maxTombstoneRatio
+	 * @post   This new lazy removal binary tree has no tombstones.
+	 *       | new.getNbTombstones() == 0
+	 * @throws IllegalArgumentException
+	 *         The given tree is not effective, or the given ratio is not a
+	 *         valid tombstone ratio.
+	 *       | (tree == null) || (! isValidTombstoneRatio(maxTombstoneRatio))
+	 * @note   The given tree must not be changed any further, except
+	 *         through this new lazy removal binary tree.
+	 */
+	public LazyRemovalBinaryTree(BinaryTree tree, double maxTombstoneRatio)
+			throws IllegalArgumentException {
+		if ((tree == null) || (!isValidTombstoneRatio(maxTombstoneRatio)))
+			throw new IllegalArgumentException();
+		this.backingTree = tree;
+		this.maxTombstoneRatio = maxTombstoneRatio;
+		if (tree instanceof SortedBinaryTree)
+			this.tombstones = new TreeMap<Object, Integer>();
+		else
+			this.tombstones = new HashMap<Object, Integer>();
+	}
+
+	/**
+	 * Initialize this new lazy removal binary tree with the given binary
+	 * tree as its backing tree.
+	 *
+	 * @effect This new lazy removal binary tree is initialized with the
+	 *         given tree as its backing tree and with the default maximal
+	 *         tombstone ratio.
+	 *       | this(tree, DEFAULT_MAX_TOMBSTONE_RATIO)
+	 */
+	public LazyRemovalBinaryTree(BinaryTree tree) throws IllegalArgumentException {
+		this(tree, DEFAULT_MAX_TOMBSTONE_RATIO);
+	}
+
+	/**
+	 * Constant reflecting the default maximal tombstone ratio.
+	 */
+	public static final double DEFAULT_MAX_TOMBSTONE_RATIO = 0.25;
+
+	/**
+	 * Return the backing tree of this lazy removal binary tree.
+	 */
+	@Basic @Raw
+	protected BinaryTree getBackingTree() {
+		return this.backingTree;
+	}
+
+	/**
+	 * Variable referencing the backing tree of this lazy removal binary
+	 * tree.
+	 */
+	private BinaryTree backingTree;
+
+	/**
+	 * Return the maximal tombstone ratio of this lazy removal binary tree.
+	 *		Tombstoned elements are removed from the backing tree as soon as
+	 *		their number exceeds this fraction of the number of elements in
+	 *		the backing tree.
+	 */
+	@Basic @Raw @Immutable
+	public double getMaxTombstoneRatio() {
+		return this.maxTombstoneRatio;
+	}
+
+	/**
+	 * Check whether the given ratio is a valid tombstone ratio.
+	 *
+	 * @param  ratio
+	 *         The ratio to check.
+	 * @return True if and only if the given ratio is not below 0 and
+	 *         not above 1.
+	 *       | result == (ratio >= 0) && (ratio <= 1)
+	 */
+	public static boolean isValidTombstoneRatio(double ratio) {
+		return (ratio >= 0) && (ratio <= 1);
+	}
+
+	/**
+	 * Variable registering the maximal tombstone ratio of this lazy
+	 * removal binary tree.
+	 */
+	private final double maxTombstoneRatio;
+
+	/**
+	 * Return the number of tombstones for the given element in this lazy
+	 * removal binary tree.
+	 *
+	 * @param  element
+	 *         The element to check.
+	 * @return Zero if the backing tree of this lazy removal binary tree
+	 *         cannot have the given element as one of its elements.
+	 *       | if (! getBackingTree().canHaveAsElement(element))
+	 *       |   then result == 0
+	 * @note   The check keeps elements that cannot be compared away from
+	 *         the tombstones of a sorted backing tree.
+	 */
+	@Basic @Raw
+	public int getNbTombstonesOf(Object element) {
+		if (!getBackingTree().canHaveAsElement(element))
+			return 0;
+		Integer nbTombstones = tombstones.get(element);
+		return (nbTombstones == null) ? 0 : nbTombstones;
+	}
+
+	/**
+	 * Return the total number of tombstones in this lazy removal binary
+	 * tree.
+	 */
+	@Basic @Raw
+	public int getNbTombstones() {
+		return this.nbTombstones;
+	}
+
+	/**
+	 * Variable referencing a map from tombstoned elements to their number
+	 * of tombstones.
+	 */
+	private final Map<Object, Integer> tombstones;
+
+	/**
+	 * Variable registering the total number of tombstones in this lazy
+	 * removal binary tree.
+	 */
+	private int nbTombstones = 0;
+
+	/**
+	 * Return the number of occurrences of the given element in this lazy
+	 * removal binary tree.
+	 */
+	@Override
+	public int getNbOccurrencesOf(Object element) {
+		return getBackingTree().getNbOccurrencesOf(element)
+				- getNbTombstonesOf(element);
+	}
+
+	/**
+	 * Check whether this lazy removal binary tree can have occurrences of
+	 * the given element.
+	 *
+	 * @return True if and only if the backing tree of this lazy removal
+	 *         binary tree can have occurrences of the given element.
+	 *       | result == getBackingTree().canHaveAsElement(element)
+	 */
+	@Override
+	@Raw
+	public boolean canHaveAsElement(Object element) {
+		return getBackingTree().canHaveAsElement(element);
+	}
+
+	/**
+	 * Check whether this lazy removal binary tree has the given element as
+	 * one of its elements.
+	 */
+	@Override
+	public boolean hasAsElement(Object element) {
+		// Re-implementation for reasons of efficiency.
+		if (getNbTombstonesOf(element) == 0)
+			return getBackingTree().hasAsElement(element);
+		return getNbOccurrencesOf(element) > 0;
+	}
+
+	/**
+	 * Return the total number of elements in this lazy removal binary tree.
+	 *
+	 * @return The number of elements in the backing tree of this lazy
+	 *         removal binary tree, decremented with its number of
+	 *         tombstones.
+	 *       | result == getBackingTree().getNbElements() - getNbTombstones()
+	 */
+	@Override
+	@Raw
+	public int getNbElements() {
+		return getBackingTree().getNbElements() - getNbTombstones();
+	}
+
+	/**
+	 * Add the given element to this lazy removal binary tree.
+	 *
+	 * @return This lazy removal binary tree.
+	 *       | result == this
+	 * @post   If the given element has tombstones in this lazy removal
+	 *         binary tree, one of them is removed. Otherwise, the given
+	 *         element is added to its backing tree.
+	 */
+	@Override
+	public LazyRemovalBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this);
+		if (getNbTombstonesOf(element) > 0)
+			removeTombstone(element);
+		else
+			this.backingTree = getBackingTree().addElement(element);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this lazy removal
+	 * binary tree.
+	 *
+	 * @return This lazy removal binary tree.
+	 *       | result == this
+	 * @post   A tombstone is registered for the given element.
+	 *       | new.getNbTombstonesOf(element) == getNbTombstonesOf(element) + 1
+	 * @effect If the number of tombstones exceeds the maximal tombstone
+	 *         ratio of this lazy removal binary tree, it is compacted.
+	 *       | if (new.getNbTombstones() > getMaxTombstoneRatio() *
+	 *       |       getBackingTree().getNbElements())
+	 *       |   then compact()
+	 */
+	@Override
+	public LazyRemovalBinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		if (tryRemoveElement(element) == null)
+			throw new IllegalElementException(element, this, false);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this lazy removal
+	 * binary tree, if it has the given element as one of its elements.
+	 *
+	 * @return The null reference if this lazy removal binary tree does not
+	 *         have the given element as one of its elements; this lazy
+	 *         removal binary tree otherwise.
+	 *       | if (! hasAsElement(element))
+	 *       |   then result == null
+	 *       |   else result == this
+	 * @note   Occurrences are only counted if the given element already
+	 *         has tombstones; otherwise a lookup in the backing tree, which
+	 *         stops at the first occurrence, decides.
+	 */
+	@Override
+	public LazyRemovalBinaryTree tryRemoveElement(Object element) {
+		if (!hasAsElement(element))
+			return null;
+		tombstones.merge(element, 1, Integer::sum);
+		nbTombstones++;
+		if (getNbTombstones() > getMaxTombstoneRatio()
+				* getBackingTree().getNbElements())
+			compact();
+		return this;
+	}
+
+	/**
+	 * Remove one tombstone for the given element.
+	 */
+	private void removeTombstone(Object element) {
+		int nbTombstones = getNbTombstonesOf(element);
+		if (nbTombstones <= 1)
+			tombstones.remove(element);
+		else
+			tombstones.put(element, nbTombstones - 1);
+		this.nbTombstones--;
+	}
+
+	/**
+	 * Remove all tombstoned elements from the backing tree of this lazy
+	 * removal binary tree.
+	 *
+	 * @post   This lazy removal binary tree has no tombstones.
+	 *       | new.getNbTombstones() == 0
+	 * @effect All tombstoned elements are removed from the backing tree
+	 *         at once.
+	 *       | getBackingTree().removeAllElements(tombstoned elements)
+	 */
+	public void compact() {
+		if (getNbTombstones() == 0)
+			return;
+		Object[] removedElements = new Object[getNbTombstones()];
+		int index = 0;
+		for (Map.Entry<Object, Integer> entry : tombstones.entrySet())
+			for (int i = 0; i < entry.getValue(); i++)
+				removedElements[index++] = entry.getKey();
+		this.backingTree = getBackingTree().removeAllElements(removedElements);
+		tombstones.clear();
+		nbTombstones = 0;
+	}
+
+	/**
+	 * Check whether this lazy removal binary tree has the given tree as a
+	 * direct or indirect subtree.
+	 *
+	 * @return True if and only if the given tree is the backing tree of
+	 *         this lazy removal binary tree or a subtree of it.
+	 *       | result ==
+	 *       |   (getBackingTree() == tree) ||
+	 *       |   getBackingTree().hasAsSubTree(tree)
+	 */
+	@Override
+	protected boolean hasAsSubTree(BinaryTree tree) {
+		return (tree != null) && ((getBackingTree() == tree)
+				|| getBackingTree().hasAsSubTree(tree));
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this lazy removal
+	 * binary tree in in-order.
+	 *
+	 * @note   The resulting iterator skips tombstoned elements in an
+	 *         in-order iterator for the backing tree.
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return skipTombstones(getBackingTree().iterator());
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this lazy removal
+	 * binary tree in pre-order.
+	 */
+	@Override
+	public Iterator<Object> preOrderIterator() {
+		return skipTombstones(getBackingTree().preOrderIterator());
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this lazy removal
+	 * binary tree in level-order.
+	 */
+	@Override
+	public Iterator<Object> levelOrderIterator() {
+		return skipTombstones(getBackingTree().levelOrderIterator());
+	}
+
+	/**
+	 * Return a spliterator over all the elements of this lazy removal
+	 * binary tree.
+	 *
+	 * @note   A lazy removal binary tree without tombstones returns the
+	 *         spliterator of its backing tree, which splits off subtrees.
+	 */
+	@Override
+	public Spliterator<Object> spliterator() {
+		if (getNbTombstones() == 0)
+			return getBackingTree().spliterator();
+		return Spliterators.spliterator(iterator(), getNbElements(), 0);
+	}
+
+	/**
+	 * Return an iterator returning the elements returned by the given
+	 * iterator, except for as many occurrences of each element as it has
+	 * tombstones.
+	 *
+	 * @param  elements
+	 *         The iterator to filter.
+	 */
+	private Iterator<Object> skipTombstones(Iterator<Object> elements) {
+		if (getNbTombstones() == 0)
+			return elements;
+		Map<Object, Integer> toSkip = (tombstones instanceof TreeMap)
+				? new TreeMap<Object, Integer>(tombstones)
+				: new HashMap<Object, Integer>(tombstones);
+		return new Iterator<Object>() {
+
+			@Override
+			public boolean hasNext() {
+				while (!hasNextElement && elements.hasNext()) {
+					Object element = elements.next();
+					Integer nbToSkip = toSkip.get(element);
+					if (nbToSkip == null) {
+						nextElement = element;
+						hasNextElement = true;
+					}
+					else if (nbToSkip == 1)
+						toSkip.remove(element);
+					else
+						toSkip.put(element, nbToSkip - 1);
+				}
+				return hasNextElement;
+			}
+
+			@Override
+			public Object next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				hasNextElement = false;
+				return nextElement;
+			}
+
+			private Object nextElement;
+
+			private boolean hasNextElement;
+
+		};
+	}
+
+}
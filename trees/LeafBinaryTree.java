@@ -15,7 +15,7 @@ import trees.exceptions.*;
  * @version 2.0
  * @author  Eric Steegmans
  */
-public class LeafBinaryTree extends NonEmptyBinaryTree {
+public class LeafBinaryTree extends MutableBinaryTree {
 
     /**
      * Initialize this new binary leaf tree with the given element
@@ -53,10 +53,14 @@ public class LeafBinaryTree extends NonEmptyBinaryTree {
     /**
      * Return the number of occurrences of the given element in this
      * binary leaf tree.
+     *
+     * @return One if the given element is stored in this binary leaf
+     *         tree; zero otherwise.
+     *       | result == (hasAsElement(element) ? 1 : 0)
      */
     @Override
     public int getNbOccurrencesOf(Object element) {
-        return -1;
+        return hasAsRootElement(element) ? 1 : 0;
     }
 
     /**
@@ -94,8 +98,7 @@ public class LeafBinaryTree extends NonEmptyBinaryTree {
     @Override
     public final boolean hasAsElement(Object element) {
         // Re-implementation for reasons of efficiency.
-        return ((getRootElement() == null) && (element == null))
-            || ((getRootElement() != null) && getRootElement().equals(element));
+        return hasAsRootElement(element);
     }
 
     /**
@@ -111,11 +114,26 @@ public class LeafBinaryTree extends NonEmptyBinaryTree {
 
     /**
      * Add the given element to this leaf binary tree.
+     *
+     * @return A new composed binary tree with the element of this leaf
+     *         binary tree as its root element, a new leaf binary tree
+     *         storing the given element as its left subtree and an empty
+     *         right subtree.
+     *       | (result.getRootElement() == getRootElement()) &&
+     *       | (result.getLeftTree() instanceof LeafBinaryTree) &&
+     *       | (result.getRightTree() instanceof EmptyBinaryTree)
+     * @throws IllegalElementException
+     *         This leaf binary tree cannot have the given element
+     *         as one of its elements.
+     *       | ! canHaveAsElement(element)
      */
     @Override
     public ComposedBinaryTree addElement(Object element)
             throws IllegalElementException {
-        return null;
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        return new ComposedBinaryTree(getRootElement(),
+            new LeafBinaryTree(element), EmptyBinaryTree.getPrototype());
     }
 
     /**
@@ -125,9 +143,28 @@ public class LeafBinaryTree extends NonEmptyBinaryTree {
     @Override
     public EmptyBinaryTree removeElement(Object element)
             throws IllegalElementException {
-        if (!hasAsElement(element))
-            throw new IllegalElementException(element, this);
-        return EmptyBinaryTree.getPrototype();
+        EmptyBinaryTree result = tryRemoveElement(element);
+        if (result == null)
+            throw new IllegalElementException(element, this, false);
+        return result;
+    }
+
+    /**
+     * Remove one occurrence of the given element from this binary leaf
+     * tree, if it has the given element as one of its elements.
+     *
+     * @return The empty tree resulting from removing the root element of
+     *         this binary leaf tree, if the given element is stored in its
+     *         root; the null reference otherwise.
+     *       | if (hasAsRootElement(element))
+     *       |   then result == removeRootElement()
+     *       |   else result == null
+     */
+    @Override
+    public EmptyBinaryTree tryRemoveElement(Object element) {
+        if (!hasAsRootElement(element))
+            return null;
+        return removeRootElement();
     }
 
     /**
@@ -0,0 +1,152 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of int binary trees consisting of a single leaf.
+ *		A int binary leaf tree has exactly one node in which a single
+ *		value is stored.
+ *
+ * @invar   Each int binary leaf tree has exactly one occurrence of some
+ *          value.
+ *        | getNbElements() == 1
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class LeafIntBinaryTree extends NonEmptyIntBinaryTree {
+
+    /**
+     * Initialize this new int binary leaf tree with the given value as its
+     * only element.
+     *
+     * @param  element
+     *         The value to be stored in this int binary leaf tree.
+     * @post   This new int binary leaf tree stores one occurrence of the
+     *         given value.
+     *       | new.getNbOccurrencesOf(element) == 1
+     */
+	@Raw
+    public LeafIntBinaryTree(int element) {
+        super(element);
+    }
+
+    /**
+     * Return the number of occurrences of the given value in this
+     * int binary leaf tree.
+     *
+     * @return One if the given value is stored in this int binary leaf
+     *         tree; zero otherwise.
+     *       | result == (getRootElement() == element ? 1 : 0)
+     */
+    @Override
+    public int getNbOccurrencesOf(int element) {
+        return (getRootElement() == element) ? 1 : 0;
+    }
+
+    /**
+     * Check whether the given value is stored in this int binary leaf tree.
+     */
+    @Override
+    public final boolean hasAsElement(int element) {
+        // Re-implementation for reasons of efficiency.
+        return getRootElement() == element;
+    }
+
+    /**
+     * Return the total number of elements in this int binary leaf tree.
+     *
+     * @return Always 1.
+     *       | result == 1
+     */
+    @Override
+    public final int getNbElements() {
+        return 1;
+    }
+
+    /**
+     * Add the given value to this int binary leaf tree.
+     *
+     * @return A new composed int binary tree with the value of this leaf
+     *         tree as its root element, a new int binary leaf tree storing
+     *         the given value as its left subtree and an empty right
+     *         subtree.
+     *       | (result.getRootElement() == getRootElement()) &&
+     *       | (result.getLeftTree() instanceof LeafIntBinaryTree) &&
+     *       | (result.getRightTree() instanceof EmptyIntBinaryTree)
+     */
+    @Override
+    public ComposedIntBinaryTree addElement(int element) {
+        return new ComposedIntBinaryTree(getRootElement(),
+            new LeafIntBinaryTree(element), EmptyIntBinaryTree.getPrototype());
+    }
+
+    /**
+     * Remove one occurrence of the given value from this int binary leaf
+     * tree, if it has the given value as one of its elements.
+     *
+     * @return The empty int binary tree if the given value is stored in the
+     *         root of this int binary leaf tree; the null reference
+     *         otherwise.
+     *       | if (getRootElement() == element)
+     *       |   then result == EmptyIntBinaryTree.getPrototype()
+     *       |   else result == null
+     */
+    @Override
+    public EmptyIntBinaryTree tryRemoveElement(int element) {
+        if (getRootElement() != element)
+            return null;
+        return removeRootElement();
+    }
+
+    /**
+     * Remove the value stored in the root of this int binary leaf tree.
+     */
+    @Override
+    protected EmptyIntBinaryTree removeRootElement() {
+        return EmptyIntBinaryTree.getPrototype();
+    }
+
+    /**
+     * Return the left subtree of this int binary leaf tree.
+     */
+    @Override
+    protected EmptyIntBinaryTree getLeftTree() {
+        return EmptyIntBinaryTree.getPrototype();
+    }
+
+    /**
+     * Return the right subtree of this int binary leaf tree.
+     */
+    @Override
+    protected EmptyIntBinaryTree getRightTree() {
+        return EmptyIntBinaryTree.getPrototype();
+    }
+
+    /**
+     * Check whether this int binary leaf tree can have the given int
+     * binary tree as its left subtree.
+     *
+     * @return True if and only if the given tree is an empty int binary
+     *         tree.
+     *       | result == (tree instanceof EmptyIntBinaryTree)
+     */
+    @Override
+    protected boolean canHaveAsLeftTree(PrimitiveBinaryTree tree) {
+        return tree instanceof EmptyIntBinaryTree;
+    }
+
+    /**
+     * Check whether this int binary leaf tree can have the given int
+     * binary tree as its right subtree.
+     *
+     * @return True if and only if the given tree is an empty int binary
+     *         tree.
+     *       | result == (tree instanceof EmptyIntBinaryTree)
+     */
+    @Override
+    protected boolean canHaveAsRightTree(PrimitiveBinaryTree tree) {
+        return tree instanceof EmptyIntBinaryTree;
+    }
+
+}
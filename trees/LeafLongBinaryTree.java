@@ -0,0 +1,152 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of long binary trees consisting of a single leaf.
+ *		A long binary leaf tree has exactly one node in which a single
+ *		value is stored.
+ *
+ * @invar   Each long binary leaf tree has exactly one occurrence of some
+ *          value.
+ *        | getNbElements() == 1
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class LeafLongBinaryTree extends NonEmptyLongBinaryTree {
+
+    /**
+     * Initialize this new long binary leaf tree with the given value as its
+     * only element.
+     *
+     * @param  element
+     *         The value to be stored in this long binary leaf tree.
+     * @post   This new long binary leaf tree stores one occurrence of the
+     *         given value.
+     *       | new.getNbOccurrencesOf(element) == 1
+     */
+	@Raw
+    public LeafLongBinaryTree(long element) {
+        super(element);
+    }
+
+    /**
+     * Return the number of occurrences of the given value in this
+     * long binary leaf tree.
+     *
+     * @return One if the given value is stored in this long binary leaf
+     *         tree; zero otherwise.
+     *       | result == (getRootElement() == element ? 1 : 0)
+     */
+    @Override
+    public int getNbOccurrencesOf(long element) {
+        return (getRootElement() == element) ? 1 : 0;
+    }
+
+    /**
+     * Check whether the given value is stored in this long binary leaf tree.
+     */
+    @Override
+    public final boolean hasAsElement(long element) {
+        // Re-implementation for reasons of efficiency.
+        return getRootElement() == element;
+    }
+
+    /**
+     * Return the total number of elements in this long binary leaf tree.
+     *
+     * @return Always 1.
+     *       | result == 1
+     */
+    @Override
+    public final int getNbElements() {
+        return 1;
+    }
+
+    /**
+     * Add the given value to this long binary leaf tree.
+     *
+     * @return A new composed long binary tree with the value of this leaf
+     *         tree as its root element, a new long binary leaf tree storing
+     *         the given value as its left subtree and an empty right
+     *         subtree.
+     *       | (result.getRootElement() == getRootElement()) &&
+     *       | (result.getLeftTree() instanceof LeafLongBinaryTree) &&
+     *       | (result.getRightTree() instanceof EmptyLongBinaryTree)
+     */
+    @Override
+    public ComposedLongBinaryTree addElement(long element) {
+        return new ComposedLongBinaryTree(getRootElement(),
+            new LeafLongBinaryTree(element), EmptyLongBinaryTree.getPrototype());
+    }
+
+    /**
+     * Remove one occurrence of the given value from this long binary leaf
+     * tree, if it has the given value as one of its elements.
+     *
+     * @return The empty long binary tree if the given value is stored in the
+     *         root of this long binary leaf tree; the null reference
+     *         otherwise.
+     *       | if (getRootElement() == element)
+     *       |   then result == EmptyLongBinaryTree.getPrototype()
+     *       |   else result == null
+     */
+    @Override
+    public EmptyLongBinaryTree tryRemoveElement(long element) {
+        if (getRootElement() != element)
+            return null;
+        return removeRootElement();
+    }
+
+    /**
+     * Remove the value stored in the root of this long binary leaf tree.
+     */
+    @Override
+    protected EmptyLongBinaryTree removeRootElement() {
+        return EmptyLongBinaryTree.getPrototype();
+    }
+
+    /**
+     * Return the left subtree of this long binary leaf tree.
+     */
+    @Override
+    protected EmptyLongBinaryTree getLeftTree() {
+        return EmptyLongBinaryTree.getPrototype();
+    }
+
+    /**
+     * Return the right subtree of this long binary leaf tree.
+     */
+    @Override
+    protected EmptyLongBinaryTree getRightTree() {
+        return EmptyLongBinaryTree.getPrototype();
+    }
+
+    /**
+     * Check whether this long binary leaf tree can have the given long
+     * binary tree as its left subtree.
+     *
+     * @return True if and only if the given tree is an empty long binary
+     *         tree.
+     *       | result == (tree instanceof EmptyLongBinaryTree)
+     */
+    @Override
+    protected boolean canHaveAsLeftTree(PrimitiveBinaryTree tree) {
+        return tree instanceof EmptyLongBinaryTree;
+    }
+
+    /**
+     * Check whether this long binary leaf tree can have the given long
+     * binary tree as its right subtree.
+     *
+     * @return True if and only if the given tree is an empty long binary
+     *         tree.
+     *       | result == (tree instanceof EmptyLongBinaryTree)
+     */
+    @Override
+    protected boolean canHaveAsRightTree(PrimitiveBinaryTree tree) {
+        return tree instanceof EmptyLongBinaryTree;
+    }
+
+}
@@ -0,0 +1,264 @@
+package trees;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import be.kuleuven.cs.som.annotate.Raw;
+import trees.exceptions.*;
+
+/**
+ * A class of sorted binary trees consisting of a single leaf.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class LeafSortedBinaryTree extends LeafBinaryTree implements
+		SortedBinaryTree {
+
+    /**
+     * Initialize this new sorted binary leaf tree with the given element
+     * as its only element.
+     *
+     * @param  element
+     *         The element to be stored in this sorted binary leaf tree.
+     * @effect This new sorted binary leaf tree is initialized as a binary
+     *         leaf tree with the given element as its only element.
+     *       | super(element)
+     */
+	@Raw
+    public LeafSortedBinaryTree(Object element) throws IllegalElementException {
+        super(element);
+    }
+
+    /**
+     * Check whether this sorted leaf binary tree can have occurrences
+     * of the given element.
+     *
+     * @return True if and only if the given element is comparable, and
+     *         can be compared with the root element of this sorted leaf
+     *         binary tree.
+     *       | result ==
+     *       |   ComposedSortedBinaryTree.canHaveAsElement(element,getRootElement())
+     */
+    @Override
+    public boolean canHaveAsElement(Object element) {
+        return ComposedSortedBinaryTree.canHaveAsElement(element,
+            getRootElement());
+    }
+
+    /**
+     * Check whether the given element is stored in the root of this sorted
+     * binary leaf tree.
+     *
+     * @return True if and only if the given element can be an element of
+     *         this sorted binary leaf tree and compares equal to its root
+     *         element.
+     *       | result ==
+     *       |   canHaveAsElement(element) &&
+     *       |   (element.compareTo(getRootElement()) == 0)
+     */
+    @Override
+    protected boolean hasAsRootElement(Object element) {
+        return canHaveAsElement(element)
+            && (ComposedSortedBinaryTree.compare(element, getRootElement()) == 0);
+    }
+
+    /**
+     * Add the given element to this sorted binary leaf tree.
+     *
+     * @return A new sorted composed binary tree with the element of this
+     *         leaf tree as its root element, and a new sorted leaf tree
+     *         storing the given element as its left subtree if the given
+     *         element is below that root element, or as its right subtree
+     *         otherwise.
+     *       | (result instanceof ComposedSortedBinaryTree) &&
+     *       | (result.getRootElement() == getRootElement())
+     */
+    @Override
+    public ComposedSortedBinaryTree addElement(Object element)
+            throws IllegalElementException {
+        if (!canHaveAsElement(element))
+            throw new IllegalElementException(element, this);
+        LeafSortedBinaryTree leaf = new LeafSortedBinaryTree(element);
+        if (ComposedSortedBinaryTree.compare(element, getRootElement()) < 0)
+            return new ComposedSortedBinaryTree(getRootElement(), leaf,
+                EmptySortedBinaryTree.getPrototype());
+        return new ComposedSortedBinaryTree(getRootElement(),
+            EmptySortedBinaryTree.getPrototype(), leaf);
+    }
+
+    /**
+     * Remove one occurrence of the given element from this sorted binary
+     * leaf tree.
+     */
+    @Override
+    public EmptySortedBinaryTree removeElement(Object element)
+            throws IllegalElementException {
+        EmptySortedBinaryTree result = tryRemoveElement(element);
+        if (result == null)
+            throw new IllegalElementException(element, this, false);
+        return result;
+    }
+
+    /**
+     * Remove one occurrence of the given element from this sorted binary
+     * leaf tree, if it has the given element as one of its elements.
+     */
+    @Override
+    public EmptySortedBinaryTree tryRemoveElement(Object element) {
+        if (!hasAsRootElement(element))
+            return null;
+        return removeRootElement();
+    }
+
+    /**
+     * Remove the element stored in the root of this sorted binary leaf tree.
+     */
+    @Override
+    protected EmptySortedBinaryTree removeRootElement() {
+        return EmptySortedBinaryTree.getPrototype();
+    }
+
+    /**
+     * Return the left subtree of this sorted binary leaf tree.
+     */
+    @Override
+    protected EmptySortedBinaryTree getLeftTree() {
+        return EmptySortedBinaryTree.getPrototype();
+    }
+
+    /**
+     * Return the right subtree of this sorted binary leaf tree.
+     */
+    @Override
+    protected EmptySortedBinaryTree getRightTree() {
+        return EmptySortedBinaryTree.getPrototype();
+    }
+
+    /**
+     * Return the height of this sorted binary leaf tree.
+     *
+     * @return Always 1.
+     *       | result == 1
+     */
+    @Override
+    public int getHeight() {
+        return 1;
+    }
+
+    /**
+     * Return the smallest element in this sorted binary leaf tree.
+     *
+     * @return The root element of this sorted binary leaf tree.
+     *       | result == getRootElement()
+     */
+    @Override
+    public Object getMinimum() {
+        return getRootElement();
+    }
+
+    /**
+     * Return the largest element in this sorted binary leaf tree.
+     *
+     * @return The root element of this sorted binary leaf tree.
+     *       | result == getRootElement()
+     */
+    @Override
+    public Object getMaximum() {
+        return getRootElement();
+    }
+
+    /**
+     * Return the largest element in this sorted binary leaf tree that is
+     * not above the given element.
+     *
+     * @return The root element of this sorted binary leaf tree if it is
+     *         not above the given element; null otherwise.
+     *       | if (getRootElement().compareTo(element) <= 0)
+     *       |   then result == getRootElement()
+     *       |   else result == null
+     */
+    @Override
+    public Object getFloor(Object element) {
+        if (!canHaveAsElement(element))
+            return null;
+        if (ComposedSortedBinaryTree.compare(getRootElement(), element) <= 0)
+            return getRootElement();
+        return null;
+    }
+
+    /**
+     * Return the smallest element in this sorted binary leaf tree that is
+     * not below the given element.
+     *
+     * @return The root element of this sorted binary leaf tree if it is
+     *         not below the given element; null otherwise.
+     *       | if (getRootElement().compareTo(element) >= 0)
+     *       |   then result == getRootElement()
+     *       |   else result == null
+     */
+    @Override
+    public Object getCeiling(Object element) {
+        if (!canHaveAsElement(element))
+            return null;
+        if (ComposedSortedBinaryTree.compare(getRootElement(), element) >= 0)
+            return getRootElement();
+        return null;
+    }
+
+    /**
+     * Return the number of elements in this sorted binary leaf tree that
+     * are below the given element.
+     *
+     * @return One if the root element of this sorted binary leaf tree is
+     *         below the given element; zero otherwise.
+     *       | result == (getRootElement().compareTo(element) < 0 ? 1 : 0)
+     */
+    @Override
+    public int getRank(Object element) {
+        if (!canHaveAsElement(element))
+            return 0;
+        return (ComposedSortedBinaryTree.compare(getRootElement(), element) < 0) ? 1 : 0;
+    }
+
+    /**
+     * Return a list of all the elements in this sorted binary leaf tree
+     * between the given bounds.
+     */
+    @Override
+    public List<Object> getElementsBetween(Object low, Object high) {
+        List<Object> result = new ArrayList<Object>();
+        if (canHaveAsElement(low) && canHaveAsElement(high))
+            ComposedSortedBinaryTree.addElementsBetween(this, low, high, result);
+        return result;
+    }
+
+    /**
+     * Check whether this sorted leaf binary tree can have the given
+     * binary tree as its left subtree.
+     *
+     * @return False if the given binary tree is not an empty sorted
+     *         binary tree.
+     *       | if (! (tree instanceof EmptySortedBinaryTree)
+     *       |   then result == false
+     */
+    @Override
+    protected boolean canHaveAsLeftTree(BinaryTree tree) {
+        return tree instanceof EmptySortedBinaryTree;
+    }
+
+    /**
+     * Check whether this sorted leaf binary tree can have the given
+     * binary tree as its right subtree.
+     *
+     * @return False if the given binary tree is not an empty sorted
+     *         binary tree.
+     *       | if (! (tree instanceof EmptySortedBinaryTree)
+     *       |   then result == false
+     */
+    @Override
+    protected boolean canHaveAsRightTree(BinaryTree tree) {
+        return tree instanceof EmptySortedBinaryTree;
+    }
+
+}
@@ -0,0 +1,52 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A class of iterators returning the elements of a binary tree in
+ * level-order: the elements at a given depth are returned from left to
+ * right, before any of the elements at a greater depth.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+class LevelOrderIterator implements Iterator<Object> {
+
+	/**
+	 * Initialize this new level-order iterator for the given binary tree.
+	 *
+	 * @param  tree
+	 *         The binary tree to iterate over.
+	 */
+	LevelOrderIterator(BinaryTree tree) {
+		if (tree instanceof NonEmptyBinaryTree)
+			pending.addLast((NonEmptyBinaryTree) tree);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !pending.isEmpty();
+	}
+
+	@Override
+	public Object next() throws NoSuchElementException {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		NonEmptyBinaryTree node = pending.removeFirst();
+		if (node.getLeftTree() instanceof NonEmptyBinaryTree)
+			pending.addLast((NonEmptyBinaryTree) node.getLeftTree());
+		if (node.getRightTree() instanceof NonEmptyBinaryTree)
+			pending.addLast((NonEmptyBinaryTree) node.getRightTree());
+		return node.getRootElement();
+	}
+
+	/**
+	 * Variable referencing the queue of subtrees that have not been
+	 * visited yet.
+	 */
+	private final Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+
+}
@@ -0,0 +1,260 @@
+package trees;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of binary trees for storing long values.
+ *		Long binary trees store their elements as primitive long values,
+ *		such that adding, looking up and removing elements neither boxes
+ *		them nor compares them by means of equals. The methods inherited
+ *		from binary trees accept and return Long objects, and are
+ *		translated into the corresponding methods on long values.
+ *
+ * @invar   Each long binary tree can only have Long objects as its elements.
+ *        | for each element in Object:
+ *        |   canHaveAsElement(element) == (element instanceof Long)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public abstract class LongBinaryTree extends PrimitiveBinaryTree {
+
+	/**
+	 * Return a perfectly balanced long binary tree storing the given
+	 * elements.
+	 *
+	 * @param  elements
+	 *         The elements to be stored in the resulting tree.
+	 * @return An empty long binary tree if no elements are given, a long
+	 *         binary leaf tree if a single element is given, and a composed
+	 *         long binary tree otherwise.
+	 * @return The number of occurrences of each value in the resulting
+	 *         tree is equal to the number of occurrences of that value in
+	 *         the given array of elements.
+	 */
+	public static LongBinaryTree fromLongs(long... elements) {
+		return ComposedLongBinaryTree.build(elements, 0, elements.length);
+	}
+
+	/**
+	 * Initialize this new long binary tree with no elements.
+	 */
+	@Raw
+	protected LongBinaryTree() {
+	}
+
+	/**
+	 * Return the number of occurrences of the given value in this
+	 * long binary tree.
+	 *
+	 * @param  element
+	 *         The value to count.
+	 */
+	public abstract int getNbOccurrencesOf(long element);
+
+	/**
+	 * Return the number of occurrences of the given element in this
+	 * long binary tree.
+	 *
+	 * @return Zero if the given element is not a Long object; the number
+	 *         of occurrences of its value otherwise.
+	 *       | if (! (element instanceof Long))
+	 *       |   then result == 0
+	 *       |   else result == getNbOccurrencesOf(((Long) element).longValue())
+	 */
+	@Override
+	public final int getNbOccurrencesOf(Object element) {
+		if (!(element instanceof Long))
+			return 0;
+		return getNbOccurrencesOf(((Long) element).longValue());
+	}
+
+	/**
+	 * Check whether this long binary tree can have occurrences of the
+	 * given element.
+	 *
+	 * @return True if and only if the given element is a Long object.
+	 *       | result == (element instanceof Long)
+	 */
+	@Override
+	public final boolean canHaveAsElement(Object element) {
+		return element instanceof Long;
+	}
+
+	/**
+	 * Check whether this long binary tree has the given value as one of
+	 * its elements.
+	 *
+	 * @param  element
+	 *         The value to check.
+	 * @return True if and only if the given value occurs at least once
+	 *         in this long binary tree.
+	 *       | result == (getNbOccurrencesOf(element) > 0)
+	 */
+	public boolean hasAsElement(long element) {
+		return getNbOccurrencesOf(element) > 0;
+	}
+
+	/**
+	 * Check whether this long binary tree has the given element as one of
+	 * its elements.
+	 *
+	 * @return False if the given element is not a Long object; whether
+	 *         this long binary tree has its value as one of its elements
+	 *         otherwise.
+	 *       | if (! (element instanceof Long))
+	 *       |   then result == false
+	 *       |   else result == hasAsElement(((Long) element).longValue())
+	 */
+	@Override
+	public final boolean hasAsElement(Object element) {
+		return (element instanceof Long)
+				&& hasAsElement(((Long) element).longValue());
+	}
+
+	/**
+	 * Add the given value to this long binary tree.
+	 *
+	 * @param  element
+	 *         The value to be added.
+	 * @return The number of occurrences of the given value in the
+	 *         resulting tree is one higher than the number of its
+	 *         occurrences in this long binary tree (upon entry).
+	 *       | result.getNbOccurrencesOf(element) ==
+	 *       |     this.getNbOccurencesOf(element) + 1
+	 */
+	public abstract LongBinaryTree addElement(long element);
+
+	/**
+	 * Add the given element to this long binary tree.
+	 *
+	 * @effect The value of the given element is added to this long binary
+	 *         tree.
+	 *       | result == addElement(((Long) element).longValue())
+	 * @throws IllegalElementException
+	 *         The given element is not a Long object.
+	 *       | ! canHaveAsElement(element)
+	 */
+	@Override
+	public final LongBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this);
+		return addElement(((Long) element).longValue());
+	}
+
+	/**
+	 * Remove one occurrence of the given value from this long binary tree.
+	 *
+	 * @param  element
+	 *         The value for which one occurrence must be removed.
+	 * @effect One occurrence of the given value is removed from this
+	 *         long binary tree.
+	 *       | result == tryRemoveElement(element)
+	 * @throws IllegalElementException
+	 *         This long binary tree does not have the given value as one of
+	 *         its elements.
+	 *       | ! hasAsElement(element)
+	 */
+	public LongBinaryTree removeElement(long element)
+			throws IllegalElementException {
+		LongBinaryTree result = tryRemoveElement(element);
+		if (result == null)
+			throw new IllegalElementException(element, this, false);
+		return result;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this long binary tree.
+	 *
+	 * @effect One occurrence of the value of the given element is removed
+	 *         from this long binary tree.
+	 *       | result == removeElement(((Long) element).longValue())
+	 * @throws IllegalElementException
+	 *         This long binary tree does not have the given element as one
+	 *         of its elements.
+	 *       | ! hasAsElement(element)
+	 */
+	@Override
+	public final LongBinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this, false);
+		return removeElement(((Long) element).longValue());
+	}
+
+	/**
+	 * Remove one occurrence of the given value from this long binary tree,
+	 * if it has the given value as one of its elements.
+	 *
+	 * @param  element
+	 *         The value for which one occurrence must be removed.
+	 * @return The null reference if this long binary tree does not have the
+	 *         given value as one of its elements; in that case this long
+	 *         binary tree is left untouched.
+	 *       | if (! hasAsElement(element))
+	 *       |   then result == null
+	 */
+	public abstract LongBinaryTree tryRemoveElement(long element);
+
+	/**
+	 * Remove one occurrence of the given element from this long binary
+	 * tree, if it has the given element as one of its elements.
+	 *
+	 * @return The null reference if the given element is not a Long
+	 *         object; the result of removing its value otherwise.
+	 *       | if (! (element instanceof Long))
+	 *       |   then result == null
+	 *       |   else result == tryRemoveElement(((Long) element).longValue())
+	 */
+	@Override
+	public final LongBinaryTree tryRemoveElement(Object element) {
+		if (!(element instanceof Long))
+			return null;
+		return tryRemoveElement(((Long) element).longValue());
+	}
+
+	/**
+	 * Return an iterator returning all the values of this long binary tree
+	 * in in-order, without boxing them.
+	 *
+	 * @return Each value of this long binary tree is returned by the
+	 *         resulting iterator as many times as it occurs in this tree.
+	 * @note   The resulting iterator does not use recursion; the amount of
+	 *         memory it uses is proportional to the height of this tree.
+	 */
+	public PrimitiveIterator.OfLong longIterator() {
+		Iterator<PrimitiveBinaryTree> nodes = nodeIterator(Order.IN_ORDER);
+		return new PrimitiveIterator.OfLong() {
+
+			@Override
+			public boolean hasNext() {
+				return nodes.hasNext();
+			}
+
+			@Override
+			public long nextLong() {
+				return ((NonEmptyLongBinaryTree) nodes.next()).getRootElement();
+			}
+
+		};
+	}
+
+	/**
+	 * Return a sequential stream of all the values of this long binary
+	 * tree, in in-order.
+	 */
+	public LongStream longStream() {
+		return StreamSupport.longStream(Spliterators.spliterator(longIterator(),
+				getNbElements(), Spliterator.ORDERED), false);
+	}
+
+}
@@ -0,0 +1,314 @@
+package trees;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of binary trees loaded from files saved in the binary tree
+ *		format.
+ *		A mapped binary tree maps its file in memory, and only reads the
+ *		header of that file upon construction. The nodes of the tree are
+ *		built the first time they are needed. The number of elements and
+ *		a pre-order traversal of an untouched mapped binary tree are served
+ *		directly from the mapped file.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class MappedBinaryTree extends BinaryTree {
+
+	/**
+	 * Initialize this new mapped binary tree with the tree saved in the
+	 * given file.
+	 *
+	 * @param  file
+	 *         The file to load the tree from.
+	 * @param  codec
+	 *         The codec to read the elements of the tree with.
+	 * @post   This new mapped binary tree stores the same elements as the
+	 *         tree that was saved in the given file.
+	 * @throws IOException
+	 *         The given file could not be mapped, or it does not contain
+	 *         a saved binary tree.
+	 * @note   The given file must not be changed as long as this tree
+	 *         has not been materialized.
+	 */
+	public MappedBinaryTree(Path file, ElementCodec codec) throws IOException {
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size());
+		}
+		this.header = new BinaryTreeFormat.Header(buffer);
+		this.codec = codec;
+	}
+
+	/**
+	 * Variable referencing the mapped contents of the file of this mapped
+	 * binary tree.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Variable referencing the header of the file of this mapped binary
+	 * tree.
+	 */
+	private final BinaryTreeFormat.Header header;
+
+	/**
+	 * Variable referencing the codec for the elements of this mapped
+	 * binary tree.
+	 */
+	private final ElementCodec codec;
+
+	/**
+	 * Check whether the nodes of this mapped binary tree have been built.
+	 */
+	public boolean isMaterialized() {
+		return this.materializedTree != null;
+	}
+
+	/**
+	 * Return the binary tree storing the elements of this mapped binary
+	 * tree, building it if that has not been done yet.
+	 *
+	 * @throws UncheckedIOException
+	 *         The shape of the tree in the file of this mapped binary tree
+	 *         does not match its number of elements.
+	 */
+	protected BinaryTree getMaterializedTree() throws UncheckedIOException {
+		BinaryTree result = this.materializedTree;
+		if (result == null) {
+			synchronized (this) {
+				result = this.materializedTree;
+				if (result == null) {
+					try {
+						result = header.materialize(buffer, codec);
+					} catch (IOException exc) {
+						throw new UncheckedIOException(exc);
+					}
+					this.materializedTree = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Variable referencing the binary tree storing the elements of this
+	 * mapped binary tree, or the null reference if it has not been built
+	 * yet.
+	 */
+	private volatile BinaryTree materializedTree;
+
+	/**
+	 * Return the number of occurrences of the given element in this
+	 * mapped binary tree.
+	 *
+	 * @return The number of occurrences of the given element in the
+	 *         materialized tree of this mapped binary tree.
+	 *       | result == getMaterializedTree().getNbOccurrencesOf(element)
+	 */
+	@Override
+	public int getNbOccurrencesOf(Object element) {
+		return getMaterializedTree().getNbOccurrencesOf(element);
+	}
+
+	/**
+	 * Check whether this mapped binary tree can have occurrences of the
+	 * given element.
+	 *
+	 * @return True if and only if an empty tree of the kind of the saved
+	 *         tree can have occurrences of the given element.
+	 */
+	@Override
+	@Raw
+	public boolean canHaveAsElement(Object element) {
+		return header.getEmptyTree().canHaveAsElement(element);
+	}
+
+	/**
+	 * Check whether this mapped binary tree has the given element as one
+	 * of its elements.
+	 *
+	 * @return True if and only if the materialized tree of this mapped
+	 *         binary tree has the given element as one of its elements.
+	 *       | result == getMaterializedTree().hasAsElement(element)
+	 */
+	@Override
+	public boolean hasAsElement(Object element) {
+		return getMaterializedTree().hasAsElement(element);
+	}
+
+	/**
+	 * Check whether this mapped binary tree has the given element as one
+	 * of its elements, searching in parallel.
+	 *
+	 * @return True if and only if the materialized tree of this mapped
+	 *         binary tree has the given element as one of its elements.
+	 *       | result == getMaterializedTree().hasAsElementInParallel(element)
+	 */
+	@Override
+	public boolean hasAsElementInParallel(Object element) {
+		return getMaterializedTree().hasAsElementInParallel(element);
+	}
+
+	/**
+	 * Return the number of elements in this mapped binary tree satisfying
+	 * the given predicate.
+	 *
+	 * @return The number of elements in the materialized tree of this
+	 *         mapped binary tree satisfying the given predicate.
+	 *       | result == getMaterializedTree().count(predicate)
+	 */
+	@Override
+	public int count(Predicate<Object> predicate) {
+		return getMaterializedTree().count(predicate);
+	}
+
+	/**
+	 * Return the reduction of the elements of this mapped binary tree.
+	 *
+	 * @return The reduction of the elements of the materialized tree of
+	 *         this mapped binary tree.
+	 *       | result == getMaterializedTree().reduce(identity,accumulator,combiner)
+	 */
+	@Override
+	public <R> R reduce(R identity, BiFunction<R, Object, R> accumulator,
+			BinaryOperator<R> combiner) {
+		return getMaterializedTree().reduce(identity, accumulator, combiner);
+	}
+
+	/**
+	 * Return the total number of elements in this mapped binary tree.
+	 *
+	 * @note   The number of elements of an untouched mapped binary tree is
+	 *         read from the header of its file, without building any nodes.
+	 */
+	@Override
+	public int getNbElements() {
+		BinaryTree materializedTree = this.materializedTree;
+		if (materializedTree == null)
+			return header.nbElements;
+		return materializedTree.getNbElements();
+	}
+
+	/**
+	 * Add the given element to this mapped binary tree.
+	 *
+	 * @return This mapped binary tree.
+	 *       | result == this
+	 * @effect The given element is added to the materialized tree of this
+	 *         mapped binary tree.
+	 *       | getMaterializedTree().addElement(element)
+	 */
+	@Override
+	public synchronized MappedBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		this.materializedTree = getMaterializedTree().addElement(element);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this mapped binary
+	 * tree.
+	 *
+	 * @return This mapped binary tree.
+	 *       | result == this
+	 * @effect One occurrence of the given element is removed from the
+	 *         materialized tree of this mapped binary tree.
+	 *       | getMaterializedTree().removeElement(element)
+	 */
+	@Override
+	public synchronized MappedBinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		if (tryRemoveElement(element) == null)
+			throw new IllegalElementException(element, this, false);
+		return this;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this mapped binary
+	 * tree, if it has the given element as one of its elements.
+	 *
+	 * @return The null reference if the materialized tree of this mapped
+	 *         binary tree does not have the given element as one of its
+	 *         elements; this mapped binary tree otherwise.
+	 */
+	@Override
+	public synchronized MappedBinaryTree tryRemoveElement(Object element) {
+		BinaryTree result = getMaterializedTree().tryRemoveElement(element);
+		if (result == null)
+			return null;
+		this.materializedTree = result;
+		return this;
+	}
+
+	/**
+	 * Check whether this mapped binary tree has the given tree as a
+	 * direct or indirect subtree.
+	 *
+	 * @return True if and only if the given tree is the materialized tree
+	 *         of this mapped binary tree or a subtree of it.
+	 */
+	@Override
+	protected boolean hasAsSubTree(BinaryTree tree) {
+		return (tree != null) && ((getMaterializedTree() == tree)
+				|| getMaterializedTree().hasAsSubTree(tree));
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this mapped binary
+	 * tree in in-order.
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return getMaterializedTree().iterator();
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this mapped binary
+	 * tree in pre-order.
+	 *
+	 * @note   The elements of an untouched mapped binary tree are decoded
+	 *         directly from its file, without building any nodes.
+	 */
+	@Override
+	public Iterator<Object> preOrderIterator() {
+		BinaryTree materializedTree = this.materializedTree;
+		if (materializedTree == null)
+			return header.preOrderIterator(buffer, codec);
+		return materializedTree.preOrderIterator();
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this mapped binary
+	 * tree in level-order.
+	 */
+	@Override
+	public Iterator<Object> levelOrderIterator() {
+		return getMaterializedTree().levelOrderIterator();
+	}
+
+	/**
+	 * Return a spliterator over all the elements of this mapped binary
+	 * tree.
+	 */
+	@Override
+	public Spliterator<Object> spliterator() {
+		return getMaterializedTree().spliterator();
+	}
+
+}
@@ -0,0 +1,239 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of mutable non-empty binary trees for storing objects.
+ *		Mutable binary trees store their root element, their number of
+ *		elements and a reference to their parent tree in fields that
+ *		change as elements are added or removed. The reference to the
+ *		parent tree allows to check for cycles by following the path from
+ *		a tree up to its root.
+ *
+ * @invar   The parent tree of each mutable binary tree, if any, has
+ *          that tree as its left subtree or as its right subtree.
+ *        | (getParentTree() == null) ||
+ *        | (getParentTree().getLeftTree() == this) ||
+ *        | (getParentTree().getRightTree() == this)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public abstract class MutableBinaryTree extends NonEmptyBinaryTree {
+
+	/**
+	 * Initialize this new mutable binary tree with the given element
+	 * as its root element.
+	 *
+	 * @param  element
+	 *         The element to be stored in this new mutable binary tree.
+	 * @effect This new mutable binary tree is initialized as a non-empty
+	 *         binary tree with the given element as its root element.
+	 *       | super(element)
+	 * @post   The root element of this new mutable binary tree is the
+	 *         same as the given element.
+	 *       | new.getRootElement() == element
+	 * @post   This new mutable binary tree has no effective subtrees yet.
+	 *       | (new.getLeftTree() == null) && (new.getRightTree() == null)
+	 */
+	@Raw
+	protected MutableBinaryTree(Object element) throws IllegalElementException {
+		super(element);
+		setRootElement(element);
+	}
+
+	/**
+	 * Initialize this new mutable binary tree with the null reference
+	 * as its root element.
+	 * 
+	 * @post   The root element of this new mutable binary tree is equal
+	 *         to the null reference.
+	 *       | new.getRootElement() == null
+	 * @post   This new mutable binary tree has no effective subtrees yet.
+	 *       | (new.getLeftTree() == null) && (new.getRightTree() == null)
+	 */
+	@Raw
+	protected MutableBinaryTree() {
+	}
+
+	/**
+	 * Return the element stored in the root of this mutable binary tree.
+	 */
+	@Override
+	@Basic @Raw
+	protected Object getRootElement() {
+		return this.rootElement;
+	}
+
+    /**
+     * Set the element stored in the root of this mutable binary
+     * tree to the given element.
+     *
+     * @param element
+     *        The element to be stored in the root.
+     * @post  The root element of this mutable binary tree is the
+     *        same as the given element.
+     *      | new.getRootElement() == element
+	 */
+	@Raw
+	protected final void setRootElement(Object element) {
+		this.rootElement = element;
+	}
+
+	/**
+	 * Variable referencing the element stored in the root of this
+	 * mutable binary tree.
+	 */
+	private Object rootElement;
+
+	/**
+	 * Return the total number of elements in this mutable binary tree.
+	 * 
+	 * @note   The number of elements is cached in each node, such that
+	 *         this method runs in constant time.
+	 */
+	@Override
+	@Raw
+	public int getNbElements() {
+		return this.nbElements;
+	}
+
+	/**
+	 * Recompute the number of elements of this mutable binary tree
+	 * from the cached number of elements of its subtrees.
+	 * 
+	 * @post   The number of elements of this mutable binary tree is
+	 *         one more than the number of elements in its effective
+	 *         subtrees.
+	 *       | new.getNbElements() == 1 +
+	 *       |   (getLeftTree() == null ? 0 : getLeftTree().getNbElements()) +
+	 *       |   (getRightTree() == null ? 0 : getRightTree().getNbElements())
+	 * @note   This method must be invoked each time one of the subtrees
+	 *         of this mutable binary tree changes, or each time the
+	 *         number of elements in one of its subtrees changes.
+	 */
+	@Raw
+	protected final void updateNbElements() {
+		int nbElements = 1;
+		if (getLeftTree() != null)
+			nbElements += getLeftTree().getNbElements();
+		if (getRightTree() != null)
+			nbElements += getRightTree().getNbElements();
+		this.nbElements = nbElements;
+	}
+
+	/**
+	 * Variable registering the number of elements in this mutable
+	 * binary tree.
+	 */
+	private int nbElements = 1;
+	/**
+	 * Return the mutable binary tree that has this mutable binary tree
+	 * as its left subtree or as its right subtree.
+	 * 
+	 * @return The null reference if this mutable binary tree is not a
+	 *         subtree of any other tree.
+	 */
+	@Basic @Raw
+	protected MutableBinaryTree getParentTree() {
+		return this.parentTree;
+	}
+
+	/**
+	 * Check whether the given tree is a direct or indirect parent of this
+	 * mutable binary tree.
+	 * 
+	 * @param  tree
+	 *         The tree to check.
+	 * @return True if and only if the given tree is the parent tree of this
+	 *         mutable binary tree, or an ancestor of that parent tree.
+	 *       | result ==
+	 *       |   (getParentTree() != null) &&
+	 *       |   ( (getParentTree() == tree) ||
+	 *       |     getParentTree().hasAsAncestor(tree) )
+	 */
+	@Raw
+	protected boolean hasAsAncestor(BinaryTree tree) {
+		for (MutableBinaryTree ancestor = getParentTree(); ancestor != null;
+				ancestor = ancestor.getParentTree())
+			if (ancestor == tree)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Register this mutable binary tree as the parent tree of the given
+	 * subtree.
+	 * 
+	 * @param  tree
+	 *         The subtree to attach.
+	 * @post   If the given tree is a mutable binary tree, this mutable
+	 *         binary tree is its parent tree.
+	 *       | if (tree instanceof MutableBinaryTree)
+	 *       |   then (new tree).getParentTree() == this
+	 * @note   This method must be invoked each time a subtree of this
+	 *         mutable binary tree is set.
+	 */
+	@Raw
+	protected final void attachSubTree(BinaryTree tree) {
+		if (tree instanceof MutableBinaryTree)
+			((MutableBinaryTree) tree).parentTree = this;
+	}
+
+	/**
+	 * Unregister this mutable binary tree as the parent tree of the
+	 * given subtree.
+	 * 
+	 * @param  tree
+	 *         The subtree to detach.
+	 * @post   If the given tree is a mutable binary tree with this
+	 *         mutable binary tree as its parent tree, it no longer has a
+	 *         parent tree.
+	 *       | if ( (tree instanceof MutableBinaryTree) &&
+	 *       |      (tree.getParentTree() == this) )
+	 *       |   then (new tree).getParentTree() == null
+	 * @note   A subtree that has meanwhile been attached to another tree
+	 *         keeps that other tree as its parent tree.
+	 */
+	@Raw
+	protected final void detachSubTree(BinaryTree tree) {
+		if ((tree instanceof MutableBinaryTree)
+				&& (((MutableBinaryTree) tree).parentTree == this))
+			((MutableBinaryTree) tree).parentTree = null;
+	}
+
+	/**
+	 * Variable referencing the parent tree of this mutable binary tree.
+	 */
+	private MutableBinaryTree parentTree;
+
+	/**
+	 * Check whether this mutable binary tree can have the given binary
+	 * tree as its left subtree.
+	 *
+	 * @note   The given tree has this tree as a subtree if and only if it
+	 *         is one of its ancestors, such that this check only follows
+	 *         the path from this tree up to its root.
+	 */
+	@Override
+	@Raw
+	protected boolean canHaveAsLeftTree(BinaryTree tree) {
+		return (tree != null) && (tree != this) && (!hasAsAncestor(tree));
+	}
+
+	/**
+	 * Check whether this mutable binary tree can have the given binary
+	 * tree as its right subtree.
+	 *
+	 * @note   The given tree has this tree as a subtree if and only if it
+	 *         is one of its ancestors, such that this check only follows
+	 *         the path from this tree up to its root.
+	 */
+	@Override
+	@Raw
+	protected boolean canHaveAsRightTree(BinaryTree tree) {
+		return (tree != null) && (tree != this) && (!hasAsAncestor(tree));
+	}
+
+}
@@ -1,11 +1,21 @@
 package trees;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
 import be.kuleuven.cs.som.annotate.*;
 import trees.exceptions.*;
 
 /**
  * An interface of non-empty binary trees for storing objects.
  *		A non-empty binary tree stores at least one element.
+ *		This class does not store the root element, the number of elements
+ *		or the subtrees of a non-empty binary tree; subclasses decide how
+ *		to hold them. Mutable binary trees hold them in fields that can be
+ *		changed, persistent binary trees hold them in final fields.
  * 
  * @invar   Each non-empty binary tree has at least one occurrence
  *          of some object (including the null reference).
@@ -22,32 +32,22 @@ public abstract class NonEmptyBinaryTree extends BinaryTree {
 	 *
 	 * @param  element
 	 *         The element to be stored in this new non-empty binary tree.
-	 * @post   The root element of this new non-empty binary tree is the
-	 *         same as the given element.
-	 *       | new.getRootElement() == element
-	 * @post   This new non-empty binary tree has no effective subtrees yet.
-	 *       | (new.getLeftTree() == null) && (new.getRightTree() == null)
 	 * @throws IllegalElementException
 	 *         This new non-empty binary tree cannot have the given element
 	 *         as its element.
 	 *       | ! canHaveAsElement(element)
+	 * @note   Subclasses are responsible for registering the given element
+	 *         as the root element of this new non-empty binary tree.
 	 */
 	@Raw
 	protected NonEmptyBinaryTree(Object element) throws IllegalElementException {
 		if (!canHaveAsElement(element))
 			throw new IllegalElementException(element, this);
-		setRootElement(element);
 	}
 
 	/**
-	 * Initialize this new non-empty binary tree with the null reference
-	 * as its root element.
-	 * 
-	 * @post   The root element of this new non-empty binary tree is equal
-	 *         to the null reference.
-	 *       | new.getRootElement() == null
-	 * @post   This new non-empty binary tree has no effective subtrees yet.
-	 *       | (new.getLeftTree() == null) && (new.getRightTree() == null)
+	 * Initialize this new non-empty binary tree without checking its
+	 * root element.
 	 */
 	@Raw
 	protected NonEmptyBinaryTree() {
@@ -56,11 +56,67 @@ public abstract class NonEmptyBinaryTree extends BinaryTree {
 	/**
 	 * Return the number of occurrences of the given element in this
 	 * non-empty binary tree.
+	 * 
+	 * @return The number of occurrences of the given element in the left
+	 *         subtree and in the right subtree of this non-empty binary
+	 *         tree, incremented by one if the given element is stored in
+	 *         its root.
+	 *       | result ==
+	 *       |   getLeftTree().getNbOccurrencesOf(element) +
+	 *       |   getRightTree().getNbOccurrencesOf(element) +
+	 *       |   (hasAsRootElement(element) ? 1 : 0)
 	 */
 	@Override
 	@Basic
 	public int getNbOccurrencesOf(Object element) {
-		return -1;
+		// Iterative traversal, such that unbalanced trees cannot
+		// overflow the stack.
+		int nbOccurrences = 0;
+		Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+		pending.push(this);
+		while (!pending.isEmpty()) {
+			NonEmptyBinaryTree node = pending.pop();
+			if (node.hasAsRootElement(element))
+				nbOccurrences++;
+			node.pushNonEmptySubTrees(pending);
+		}
+		return nbOccurrences;
+	}
+
+	/**
+	 * Push the non-empty subtrees of this non-empty binary tree on the
+	 * given stack.
+	 *
+	 * @param  pending
+	 *         The stack to push the subtrees on.
+	 */
+	private void pushNonEmptySubTrees(Deque<NonEmptyBinaryTree> pending) {
+		if (getRightTree() instanceof NonEmptyBinaryTree)
+			pending.push((NonEmptyBinaryTree) getRightTree());
+		if (getLeftTree() instanceof NonEmptyBinaryTree)
+			pending.push((NonEmptyBinaryTree) getLeftTree());
+	}
+
+	/**
+	 * Check whether the given element is stored in the root of this
+	 * non-empty binary tree.
+	 * 
+	 * @param  element
+	 *         The element to check.
+	 * @return True if and only if the root element of this non-empty
+	 *         binary tree and the given element are both the null
+	 *         reference, or if the root element is effective and equal
+	 *         to the given element.
+	 *       | result ==
+	 *       |   ( (getRootElement() == null) && (element == null) ) ||
+	 *       |   ( (getRootElement() != null) &&
+	 *       |     getRootElement().equals(element) )
+	 */
+	@Raw
+	protected boolean hasAsRootElement(Object element) {
+		return ((getRootElement() == null) && (element == null))
+				|| ((getRootElement() != null) && getRootElement().equals(
+						element));
 	}
 
 	/**
@@ -70,26 +126,58 @@ public abstract class NonEmptyBinaryTree extends BinaryTree {
 	@Override
 	public boolean hasAsElement(Object element) {
 		// Re-implementation for reasons of efficiency.
-		return ((getRootElement() == null) && (element == null))
-				|| ((getRootElement() != null) && getRootElement().equals(
-						element)) || getLeftTree().hasAsElement(element)
-				|| getRightTree().hasAsElement(element);
+		Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+		pending.push(this);
+		while (!pending.isEmpty()) {
+			NonEmptyBinaryTree node = pending.pop();
+			if (node.hasAsRootElement(element))
+				return true;
+			node.pushNonEmptySubTrees(pending);
+		}
+		return false;
+	}
+
+	/**
+	 * Check whether this non-empty binary tree has the given element as
+	 * one of its elements, searching different parts of this tree in
+	 * parallel.
+	 *
+	 * @note   Subtrees above a threshold size are searched by fork/join
+	 *         tasks. All pending tasks are cancelled as soon as one of them
+	 *         finds the given element.
+	 */
+	@Override
+	public boolean hasAsElementInParallel(Object element) {
+		return ParallelCount.count(this,
+				node -> node.hasAsRootElement(element), true) > 0;
 	}
 
 	/**
-	 * Return the total number of elements in this non-empty binary tree.
+	 * Return the number of elements in this non-empty binary tree
+	 * satisfying the given predicate.
+	 *
+	 * @note   Subtrees above a threshold size are counted by fork/join
+	 *         tasks.
 	 */
 	@Override
-	@Raw
-	public int getNbElements() {
-        int nbElements = 1;
-        if (getLeftTree() != null)
-            nbElements += getLeftTree().getNbElements();
-        if (getRightTree() != null)
-            nbElements += getRightTree().getNbElements();
-        return nbElements;
+	public int count(Predicate<Object> predicate) {
+		return ParallelCount.count(this,
+				node -> predicate.test(node.getRootElement()), false);
 	}
 
+	/**
+	 * Return the reduction of the elements of this non-empty binary tree.
+	 *
+	 * @note   Subtrees above a threshold size are reduced by fork/join
+	 *         tasks.
+	 */
+	@Override
+	public <R> R reduce(R identity, BiFunction<R, Object, R> accumulator,
+			BinaryOperator<R> combiner) {
+		return ParallelReduction.reduce(this, identity, accumulator, combiner);
+	}
+
+
 	/**
 	 * Check whether this non-empty binary tree has no elements.
 	 *
@@ -105,24 +193,7 @@ public abstract class NonEmptyBinaryTree extends BinaryTree {
 	 * Return the element stored in the root of this non-empty binary tree.
 	 */
 	@Raw
-	protected Object getRootElement() {
-		return this.rootElement;
-	}
-
-    /**
-     * Set the element stored in the root of this non-empty binary
-     * tree to the given element.
-     *
-     * @param element
-     *        The element to be stored in the root.
-     * @post  The root element of this non-empty binary tree is the
-     *        same as the given element.
-     *      | new.getRootElement() == element
-	 */
-	@Raw
-	protected final void setRootElement(Object element) {
-		this.rootElement = element;
-	}
+	protected abstract Object getRootElement();
 
 	/**
 	 * Remove the element stored in the root of this non-empty binary tree.
@@ -162,12 +233,6 @@ public abstract class NonEmptyBinaryTree extends BinaryTree {
 	 */
 	protected abstract BinaryTree removeRootElement();
 
-	/**
-	 * Variable referencing the element stored in the root of this
-	 * non-empty binary tree.
-	 */
-	private Object rootElement;
-
 	/**
 	 * Return the left subtree of this non-empty binary tree.
 	 */
@@ -242,9 +307,15 @@ public abstract class NonEmptyBinaryTree extends BinaryTree {
 	 */
 	@Raw
 	protected boolean hasAsSubTree(BinaryTree tree) {
-		return (getLeftTree() == tree) || (getRightTree() == tree)
-				|| getLeftTree().hasAsSubTree(tree)
-				|| getRightTree().hasAsSubTree(tree);
+		Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+		pending.push(this);
+		while (!pending.isEmpty()) {
+			NonEmptyBinaryTree node = pending.pop();
+			if ((node.getLeftTree() == tree) || (node.getRightTree() == tree))
+				return true;
+			node.pushNonEmptySubTrees(pending);
+		}
+		return false;
 	}
 
 	/**
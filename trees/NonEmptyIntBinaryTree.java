@@ -0,0 +1,163 @@
+package trees;
+
+import java.util.Iterator;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of non-empty int binary trees.
+ *		A non-empty int binary tree stores at least one value.
+ *
+ * @invar   Each non-empty int binary tree has at least one occurrence
+ *          of some value.
+ *        | getNbElements() > 0
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public abstract class NonEmptyIntBinaryTree extends IntBinaryTree {
+
+	/**
+	 * Initialize this new non-empty int binary tree with the given value
+	 * as its root element.
+	 *
+	 * @param  element
+	 *         The value to be stored in this new non-empty int binary tree.
+	 * @effect This new non-empty int binary tree is initialized with zero
+	 *         as its root element.
+	 *       | this()
+	 * @post   The root element of this new non-empty int binary tree is
+	 *         equal to the given value.
+	 *       | new.getRootElement() == element
+	 */
+	@Raw
+	protected NonEmptyIntBinaryTree(int element) {
+		this();
+		setRootElement(element);
+	}
+
+	/**
+	 * Initialize this new non-empty int binary tree with zero as its root
+	 * element.
+	 *
+	 * @effect The number of elements of this new non-empty int binary tree
+	 *         is computed from its subtrees.
+	 *       | updateNbElements()
+	 * @post   The root element of this new non-empty int binary tree is
+	 *         equal to zero.
+	 *       | new.getRootElement() == 0
+	 */
+	@Raw
+	protected NonEmptyIntBinaryTree() {
+		updateNbElements();
+	}
+
+	/**
+	 * Return the number of occurrences of the given value in this
+	 * non-empty int binary tree.
+	 *
+	 * @return The number of occurrences of the given value in the left
+	 *         subtree and in the right subtree of this non-empty int binary
+	 *         tree, incremented by one if the given value is stored in its
+	 *         root.
+	 *       | result ==
+	 *       |   getLeftTree().getNbOccurrencesOf(element) +
+	 *       |   getRightTree().getNbOccurrencesOf(element) +
+	 *       |   (getRootElement() == element ? 1 : 0)
+	 */
+	@Override
+	@Basic
+	public int getNbOccurrencesOf(int element) {
+		// Iterative traversal, such that unbalanced trees cannot
+		// overflow the stack.
+		int nbOccurrences = 0;
+		for (Iterator<PrimitiveBinaryTree> nodes = nodeIterator(Order.PRE_ORDER);
+				nodes.hasNext();)
+			if (((NonEmptyIntBinaryTree) nodes.next()).getRootElement() == element)
+				nbOccurrences++;
+		return nbOccurrences;
+	}
+
+	/**
+	 * Check whether this non-empty int binary tree has the given value as
+	 * one of its elements.
+	 */
+	@Override
+	public boolean hasAsElement(int element) {
+		// Re-implementation for reasons of efficiency.
+		for (Iterator<PrimitiveBinaryTree> nodes = nodeIterator(Order.PRE_ORDER);
+				nodes.hasNext();)
+			if (((NonEmptyIntBinaryTree) nodes.next()).getRootElement() == element)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Return the value stored in the root of this non-empty int binary tree.
+	 */
+	@Basic @Raw
+	protected int getRootElement() {
+		return this.rootElement;
+	}
+
+	/**
+	 * Return the value stored in the root of this non-empty int binary tree,
+	 * boxed into a Integer object.
+	 *
+	 * @return The value stored in the root of this non-empty int binary tree.
+	 *       | result.equals(getRootElement())
+	 */
+	@Override
+	@Raw
+	protected final Integer getBoxedRootElement() {
+		return getRootElement();
+	}
+
+	/**
+	 * Set the value stored in the root of this non-empty int binary tree
+	 * to the given value.
+	 *
+	 * @param  element
+	 *         The value to be stored in the root.
+	 * @post   The root element of this non-empty int binary tree is equal
+	 *         to the given value.
+	 *       | new.getRootElement() == element
+	 */
+	@Raw
+	protected final void setRootElement(int element) {
+		this.rootElement = element;
+	}
+
+	/**
+	 * Variable registering the value stored in the root of this non-empty
+	 * int binary tree.
+	 */
+	private int rootElement;
+
+	/**
+	 * Remove the value stored in the root of this non-empty int binary tree.
+	 *
+	 * @return The number of occurrences of the old root element in the
+	 *         resulting tree is one lower than the number of occurrences of
+	 *         that value in this int binary tree (upon entry); the number of
+	 *         occurrences of all other values is left untouched.
+	 *       | result.getNbOccurrencesOf(getRootElement()) ==
+	 *       |     this.getNbOccurencesOf(getRootElement()) - 1
+	 */
+	protected abstract IntBinaryTree removeRootElement();
+
+	/**
+	 * Return the left subtree of this non-empty int binary tree.
+	 */
+	@Override
+	@Raw
+	protected abstract IntBinaryTree getLeftTree();
+
+	/**
+	 * Return the right subtree of this non-empty int binary tree.
+	 */
+	@Override
+	@Raw
+	protected abstract IntBinaryTree getRightTree();
+
+}
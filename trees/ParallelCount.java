@@ -0,0 +1,157 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * A class of tasks counting the nodes of a non-empty binary tree that
+ *		satisfy a given condition.
+ *		The left subtree of a large tree is counted by a forked task, while
+ *		the current task counts its right subtree. Small subtrees are counted
+ *		sequentially, without recursion. A short-circuiting count stops all
+ *		tasks as soon as one matching node has been found.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+@SuppressWarnings("serial")
+class ParallelCount extends RecursiveTask<Integer> {
+
+	/**
+	 * Return the number of nodes in the given tree satisfying the given
+	 * condition.
+	 *
+	 * @param  tree
+	 *         The tree to count the nodes of.
+	 * @param  condition
+	 *         The condition to check on each node.
+	 * @param  shortCircuit
+	 *         True if counting may stop as soon as one matching node has
+	 *         been found. The result is then either 0 or at least 1.
+	 */
+	static int count(NonEmptyBinaryTree tree,
+			Predicate<NonEmptyBinaryTree> condition, boolean shortCircuit) {
+		ParallelCount task = new ParallelCount(tree, condition,
+				shortCircuit ? new AtomicBoolean() : null);
+		if (tree.getNbElements() < SEQUENTIAL_THRESHOLD)
+			return task.compute();
+		return ForkJoinPool.commonPool().invoke(task);
+	}
+
+	/**
+	 * Initialize this new counting task for the given tree.
+	 *
+	 * @param  tree
+	 *         The tree to count the nodes of.
+	 * @param  condition
+	 *         The condition to check on each node.
+	 * @param  found
+	 *         The flag shared by all tasks of a short-circuiting count, or
+	 *         the null reference if all matching nodes must be counted.
+	 */
+	private ParallelCount(NonEmptyBinaryTree tree,
+			Predicate<NonEmptyBinaryTree> condition, AtomicBoolean found) {
+		this.tree = tree;
+		this.condition = condition;
+		this.found = found;
+	}
+
+	/**
+	 * Constant reflecting the maximal number of elements in a subtree
+	 * that is counted sequentially.
+	 */
+	static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Constant reflecting the number of nodes visited by a sequential count
+	 * between two checks of the shared flag.
+	 */
+	private static final int CHECK_INTERVAL = 1 << 8;
+
+	/**
+	 * Variable referencing the tree counted by this task.
+	 */
+	private final NonEmptyBinaryTree tree;
+
+	/**
+	 * Variable referencing the condition to check on each node.
+	 */
+	private final Predicate<NonEmptyBinaryTree> condition;
+
+	/**
+	 * Variable referencing the flag signalling that a short-circuiting
+	 * count has found a matching node.
+	 */
+	private final AtomicBoolean found;
+
+	/**
+	 * Check whether this task may stop, because another task of the same
+	 * short-circuiting count has already found a matching node.
+	 */
+	private boolean isFound() {
+		return (found != null) && found.get();
+	}
+
+	@Override
+	protected Integer compute() {
+		if (isFound())
+			return 0;
+		if (tree.getNbElements() < SEQUENTIAL_THRESHOLD)
+			return computeSequentially();
+		ParallelCount leftTask = null;
+		int count = 0;
+		if (tree.getLeftTree() instanceof NonEmptyBinaryTree) {
+			leftTask = new ParallelCount((NonEmptyBinaryTree) tree.getLeftTree(),
+					condition, found);
+			leftTask.fork();
+		}
+		if (condition.test(tree)) {
+			count++;
+			if (found != null)
+				found.set(true);
+		}
+		if (tree.getRightTree() instanceof NonEmptyBinaryTree)
+			count += new ParallelCount((NonEmptyBinaryTree) tree.getRightTree(),
+					condition, found).compute();
+		if (leftTask != null) {
+			// A left task that has not started yet is no longer needed once
+			// a short-circuiting count has found a matching node.
+			if (isFound() && leftTask.cancel(false))
+				return count;
+			count += leftTask.join();
+		}
+		return count;
+	}
+
+	/**
+	 * Count the matching nodes of the tree of this task sequentially.
+	 */
+	private int computeSequentially() {
+		int count = 0;
+		int nbVisited = 0;
+		Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+		pending.push(tree);
+		while (!pending.isEmpty()) {
+			if ((++nbVisited % CHECK_INTERVAL == 0) && isFound())
+				return count;
+			NonEmptyBinaryTree node = pending.pop();
+			if (condition.test(node)) {
+				count++;
+				if (found != null) {
+					found.set(true);
+					return count;
+				}
+			}
+			if (node.getRightTree() instanceof NonEmptyBinaryTree)
+				pending.push((NonEmptyBinaryTree) node.getRightTree());
+			if (node.getLeftTree() instanceof NonEmptyBinaryTree)
+				pending.push((NonEmptyBinaryTree) node.getLeftTree());
+		}
+		return count;
+	}
+
+}
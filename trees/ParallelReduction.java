@@ -0,0 +1,121 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * A class of tasks reducing the elements of a non-empty binary tree to a
+ *		single value.
+ *		The left subtree of a large tree is reduced by a forked task, while
+ *		the current task reduces its root element and its right subtree.
+ *		Both partial results are combined in in-order. Small subtrees are
+ *		reduced sequentially, without recursion.
+ *
+ * @param  <R>
+ *         The type of the result of the reduction.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+@SuppressWarnings("serial")
+class ParallelReduction<R> extends RecursiveTask<R> {
+
+	/**
+	 * Return the reduction of the elements of the given tree.
+	 *
+	 * @param  tree
+	 *         The tree to reduce.
+	 * @param  identity
+	 *         The identity value for the given combiner.
+	 * @param  accumulator
+	 *         The function folding an element into a partial result.
+	 * @param  combiner
+	 *         The function combining two partial results.
+	 */
+	static <R> R reduce(NonEmptyBinaryTree tree, R identity,
+			BiFunction<R, Object, R> accumulator, BinaryOperator<R> combiner) {
+		ParallelReduction<R> task = new ParallelReduction<R>(tree, identity,
+				accumulator, combiner);
+		if (tree.getNbElements() < ParallelCount.SEQUENTIAL_THRESHOLD)
+			return task.compute();
+		return ForkJoinPool.commonPool().invoke(task);
+	}
+
+	/**
+	 * Initialize this new reduction task for the given tree.
+	 */
+	private ParallelReduction(NonEmptyBinaryTree tree, R identity,
+			BiFunction<R, Object, R> accumulator, BinaryOperator<R> combiner) {
+		this.tree = tree;
+		this.identity = identity;
+		this.accumulator = accumulator;
+		this.combiner = combiner;
+	}
+
+	/**
+	 * Variable referencing the tree reduced by this task.
+	 */
+	private final NonEmptyBinaryTree tree;
+
+	/**
+	 * Variable referencing the identity value of this reduction.
+	 */
+	private final R identity;
+
+	/**
+	 * Variable referencing the function folding an element into a partial
+	 * result.
+	 */
+	private final BiFunction<R, Object, R> accumulator;
+
+	/**
+	 * Variable referencing the function combining two partial results.
+	 */
+	private final BinaryOperator<R> combiner;
+
+	@Override
+	protected R compute() {
+		if (tree.getNbElements() < ParallelCount.SEQUENTIAL_THRESHOLD)
+			return computeSequentially();
+		ParallelReduction<R> leftTask = null;
+		if (tree.getLeftTree() instanceof NonEmptyBinaryTree) {
+			leftTask = new ParallelReduction<R>(
+					(NonEmptyBinaryTree) tree.getLeftTree(), identity,
+					accumulator, combiner);
+			leftTask.fork();
+		}
+		R result = accumulator.apply(identity, tree.getRootElement());
+		if (tree.getRightTree() instanceof NonEmptyBinaryTree)
+			result = combiner.apply(result, new ParallelReduction<R>(
+					(NonEmptyBinaryTree) tree.getRightTree(), identity,
+					accumulator, combiner).compute());
+		if (leftTask != null)
+			result = combiner.apply(leftTask.join(), result);
+		return result;
+	}
+
+	/**
+	 * Reduce the elements of the tree of this task sequentially, in
+	 * in-order.
+	 */
+	private R computeSequentially() {
+		R result = identity;
+		Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+		BinaryTree current = tree;
+		while ((current instanceof NonEmptyBinaryTree) || !pending.isEmpty()) {
+			while (current instanceof NonEmptyBinaryTree) {
+				pending.push((NonEmptyBinaryTree) current);
+				current = ((NonEmptyBinaryTree) current).getLeftTree();
+			}
+			NonEmptyBinaryTree node = pending.pop();
+			result = accumulator.apply(result, node.getRootElement());
+			current = node.getRightTree();
+		}
+		return result;
+	}
+
+}
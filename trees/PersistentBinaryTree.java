@@ -0,0 +1,288 @@
+package trees;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * A class of persistent binary trees.
+ *		A persistent binary tree is never changed after its construction.
+ *		Adding or removing an element yields a new persistent binary tree,
+ *		in which only the nodes on the path from the root to the affected
+ *		node are copied; all other subtrees are shared with the original
+ *		tree. Snapshots of a persistent binary tree can therefore be handed
+ *		out to concurrent readers without locks or defensive copies.
+ *		The root element, the subtrees and the number of elements of a
+ *		persistent binary tree are held in final fields of its own, which
+ *		are only assigned by its constructor. Each version is thus safely
+ *		visible to all threads as soon as it is referenced, even if that
+ *		reference is published without synchronization. Persistent binary
+ *		trees do not extend mutable binary trees, so they neither carry nor
+ *		inherit a mutable root element, number of elements or parent tree.
+ *		Elements are added to the subtree with the smallest number of
+ *		elements, such that the height of the tree stays logarithmic.
+ *
+ * @invar   The subtrees of each persistent binary tree are persistent
+ *          binary trees or empty persistent binary trees.
+ *        | canHaveAsSubTrees(getLeftTree(), getRightTree())
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public class PersistentBinaryTree extends NonEmptyBinaryTree {
+
+	/**
+	 * Initialize this new persistent binary tree with the given element as
+	 * its only element.
+	 *
+	 * @param  element
+	 *         The element to be stored in this new persistent binary tree.
+	 * @effect This new persistent binary tree is initialized with the given
+	 *         element as its root element and with empty subtrees.
+	 *       | this(element, EmptyPersistentBinaryTree.getPrototype(),
+	 *       |     EmptyPersistentBinaryTree.getPrototype())
+	 */
+	@Raw
+	public PersistentBinaryTree(Object element) throws IllegalElementException {
+		this(element, EmptyPersistentBinaryTree.getPrototype(),
+				EmptyPersistentBinaryTree.getPrototype());
+	}
+
+	/**
+	 * Initialize this new persistent binary tree with given root element
+	 * and given subtrees.
+	 *
+	 * @param  element
+	 *         The element to be stored in the root of this new persistent
+	 *         binary tree.
+	 * @param  leftTree
+	 *         The left subtree for this new persistent binary tree.
+	 * @param  rightTree
+	 *         The right subtree for this new persistent binary tree.
+	 * @pre    This new persistent binary tree must can have the given trees
+	 *         as its left subtree, respectively as its right subtree.
+	 *       | canHaveAsSubTrees(leftTree, rightTree)
+	 * @effect This new persistent binary tree is initialized as a non-empty
+	 *         binary tree with the given element as its root element.
+	 *       | super(element)
+	 * @post   The root element of this new persistent binary tree is the
+	 *         same as the given element.
+	 *       | new.getRootElement() == element
+	 * @post   The left subtree of this new persistent binary tree is the
+	 *         same as the given left tree.
+	 *       | new.getLeftTree() == leftTree
+	 * @post   The right subtree of this new persistent binary tree is the
+	 *         same as the given right tree.
+	 *       | new.getRightTree() == rightTree
+	 * @note   The given subtrees are shared, not copied. They do not
+	 *         register this new tree as their parent tree, because they may
+	 *         be subtrees of several persistent binary trees at once.
+	 */
+	@Raw
+	protected PersistentBinaryTree(Object element, BinaryTree leftTree,
+			BinaryTree rightTree) throws IllegalElementException {
+		super(element);
+		assert canHaveAsSubTrees(leftTree, rightTree);
+		this.element = element;
+		this.leftTree = leftTree;
+		this.rightTree = rightTree;
+		this.nbElements = 1 + leftTree.getNbElements() + rightTree.getNbElements();
+	}
+
+	/**
+	 * Return the element stored in the root of this persistent binary
+	 * tree.
+	 */
+	@Override
+	@Basic @Immutable
+	protected Object getRootElement() {
+		return element;
+	}
+
+	/**
+	 * Variable referencing the element stored in the root of this
+	 * persistent binary tree.
+	 */
+	private final Object element;
+
+	/**
+	 * Return the total number of elements in this persistent binary tree.
+	 */
+	@Override
+	@Basic @Immutable
+	public int getNbElements() {
+		return nbElements;
+	}
+
+	/**
+	 * Variable registering the number of elements in this persistent
+	 * binary tree.
+	 */
+	private final int nbElements;
+
+	/**
+	 * Check whether this persistent binary tree can have occurrences
+	 * of the given element.
+	 */
+	@Override
+	public boolean canHaveAsElement(Object element) {
+		return true;
+	}
+
+	/**
+	 * Add the given element to this persistent binary tree.
+	 *
+	 * @return A new persistent binary tree with the same root element as
+	 *         this persistent binary tree, in which the given element is
+	 *         added to a copy of the subtree with the smallest number of
+	 *         elements. The other subtree is shared with this tree.
+	 *       | (result != this) &&
+	 *       | (result.getRootElement() == getRootElement())
+	 * @post   This persistent binary tree is left untouched.
+	 */
+	@Override
+	public PersistentBinaryTree addElement(Object element)
+			throws IllegalElementException {
+		if (!canHaveAsElement(element))
+			throw new IllegalElementException(element, this);
+		if (getLeftTree().getNbElements() <= getRightTree().getNbElements())
+			return new PersistentBinaryTree(getRootElement(),
+					getLeftTree().addElement(element), getRightTree());
+		return new PersistentBinaryTree(getRootElement(), getLeftTree(),
+				getRightTree().addElement(element));
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this persistent
+	 * binary tree.
+	 *
+	 * @return A new persistent binary tree, or an empty persistent binary
+	 *         tree if this persistent binary tree only has one element.
+	 *       | result != this
+	 * @post   This persistent binary tree is left untouched.
+	 */
+	@Override
+	public BinaryTree removeElement(Object element)
+			throws IllegalElementException {
+		BinaryTree result = tryRemoveElement(element);
+		if (result == null)
+			throw new IllegalElementException(element, this, false);
+		return result;
+	}
+
+	/**
+	 * Remove one occurrence of the given element from this persistent
+	 * binary tree, if it has the given element as one of its elements.
+	 *
+	 * @return The null reference if this persistent binary tree does not
+	 *         have the given element as one of its elements.
+	 *       | if (! hasAsElement(element))
+	 *       |   then result == null
+	 * @post   This persistent binary tree is left untouched.
+	 * @note   Each subtree is searched only once: a new path is only built
+	 *         on the way back from the node storing the given element.
+	 */
+	@Override
+	public BinaryTree tryRemoveElement(Object element) {
+		if (hasAsRootElement(element))
+			return removeRootElement();
+		BinaryTree leftTree = getLeftTree().tryRemoveElement(element);
+		if (leftTree != null)
+			return new PersistentBinaryTree(getRootElement(), leftTree,
+					getRightTree());
+		BinaryTree rightTree = getRightTree().tryRemoveElement(element);
+		if (rightTree != null)
+			return new PersistentBinaryTree(getRootElement(), getLeftTree(),
+					rightTree);
+		return null;
+	}
+
+	/**
+	 * Remove the element stored in the root of this persistent binary tree.
+	 *
+	 * @return If one of the subtrees of this persistent binary tree is
+	 *         empty, its other subtree; otherwise a new persistent binary
+	 *         tree with the root element of its largest subtree as its root
+	 *         element.
+	 * @post   This persistent binary tree is left untouched.
+	 */
+	@Override
+	protected BinaryTree removeRootElement() {
+		if (getLeftTree().isEmpty())
+			return getRightTree();
+		if (getRightTree().isEmpty())
+			return getLeftTree();
+		if (getLeftTree().getNbElements() >= getRightTree().getNbElements()) {
+			PersistentBinaryTree leftTree = (PersistentBinaryTree) getLeftTree();
+			return new PersistentBinaryTree(leftTree.getRootElement(),
+					leftTree.removeRootElement(), getRightTree());
+		}
+		PersistentBinaryTree rightTree = (PersistentBinaryTree) getRightTree();
+		return new PersistentBinaryTree(rightTree.getRootElement(),
+				getLeftTree(), rightTree.removeRootElement());
+	}
+
+	/**
+	 * Return the left subtree of this persistent binary tree.
+	 */
+	@Override
+	@Basic @Immutable
+	protected BinaryTree getLeftTree() {
+		return leftTree;
+	}
+
+	/**
+	 * Variable referencing the left subtree of this persistent binary tree.
+	 */
+	private final BinaryTree leftTree;
+
+	/**
+	 * Return the right subtree of this persistent binary tree.
+	 */
+	@Override
+	@Basic @Immutable
+	protected BinaryTree getRightTree() {
+		return rightTree;
+	}
+
+	/**
+	 * Variable referencing the right subtree of this persistent binary tree.
+	 */
+	private final BinaryTree rightTree;
+
+	/**
+	 * Check whether this persistent binary tree can have the given binary
+	 * tree as its left subtree.
+	 *
+	 * @return False if the given binary tree is not a persistent binary
+	 *         tree and not an empty persistent binary tree.
+	 *       | if (! (tree instanceof PersistentBinaryTree) &&
+	 *       |     ! (tree instanceof EmptyPersistentBinaryTree))
+	 *       |   then result == false
+	 * @note   Subtrees are only given to a persistent binary tree while it
+	 *         is being constructed, so they can never have that tree as a
+	 *         subtree. The walk over the given tree is therefore omitted.
+	 */
+	@Override
+	protected boolean canHaveAsLeftTree(BinaryTree tree) {
+		return (tree instanceof PersistentBinaryTree) || (tree instanceof EmptyPersistentBinaryTree);
+	}
+
+	/**
+	 * Check whether this persistent binary tree can have the given binary
+	 * tree as its right subtree.
+	 *
+	 * @return False if the given binary tree is not a persistent binary
+	 *         tree and not an empty persistent binary tree.
+	 *       | if (! (tree instanceof PersistentBinaryTree) &&
+	 *       |     ! (tree instanceof EmptyPersistentBinaryTree))
+	 *       |   then result == false
+	 * @note   Subtrees are only given to a persistent binary tree while it
+	 *         is being constructed, so they can never have that tree as a
+	 *         subtree. The walk over the given tree is therefore omitted.
+	 */
+	@Override
+	protected boolean canHaveAsRightTree(BinaryTree tree) {
+		return (tree instanceof PersistentBinaryTree) || (tree instanceof EmptyPersistentBinaryTree);
+	}
+
+}
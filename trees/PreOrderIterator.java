@@ -0,0 +1,53 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A class of iterators returning the elements of a binary tree in
+ * pre-order: the element in each node comes before the elements of its
+ * left subtree, which come before the elements of its right subtree.
+ *		The iterator uses an explicit stack of nodes instead of recursion.
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+class PreOrderIterator implements Iterator<Object> {
+
+	/**
+	 * Initialize this new pre-order iterator for the given binary tree.
+	 *
+	 * @param  tree
+	 *         The binary tree to iterate over.
+	 */
+	PreOrderIterator(BinaryTree tree) {
+		if (tree instanceof NonEmptyBinaryTree)
+			pending.push((NonEmptyBinaryTree) tree);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !pending.isEmpty();
+	}
+
+	@Override
+	public Object next() throws NoSuchElementException {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		NonEmptyBinaryTree node = pending.pop();
+		if (node.getRightTree() instanceof NonEmptyBinaryTree)
+			pending.push((NonEmptyBinaryTree) node.getRightTree());
+		if (node.getLeftTree() instanceof NonEmptyBinaryTree)
+			pending.push((NonEmptyBinaryTree) node.getLeftTree());
+		return node.getRootElement();
+	}
+
+	/**
+	 * Variable referencing the stack of subtrees that have not been
+	 * visited yet.
+	 */
+	private final Deque<NonEmptyBinaryTree> pending = new ArrayDeque<NonEmptyBinaryTree>();
+
+}
@@ -0,0 +1,401 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of binary trees for storing primitive values.
+ *		Primitive binary trees hold the structure shared by all binary
+ *		trees that store their elements as primitive values: the cached
+ *		number of elements, the reference to the parent tree, the checks
+ *		on subtrees and the traversal of nodes. Subclasses only store and
+ *		compare the values themselves.
+ *
+ * @invar   Each primitive binary tree caches its number of elements.
+ *        | getNbElements() >= 0
+ * @invar   The parent tree of each primitive binary tree, if any, has
+ *          that tree as its left subtree or as its right subtree.
+ *        | (getParentTree() == null) ||
+ *        | (getParentTree().getLeftTree() == this) ||
+ *        | (getParentTree().getRightTree() == this)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public abstract class PrimitiveBinaryTree extends BinaryTree {
+
+	/**
+	 * Initialize this new primitive binary tree with no elements and
+	 * without a parent tree.
+	 */
+	@Raw
+	protected PrimitiveBinaryTree() {
+	}
+
+	/**
+	 * Return the total number of elements in this primitive binary tree.
+	 *
+	 * @note   The number of elements is cached in each node, such that
+	 *         this method runs in constant time.
+	 */
+	@Override
+	@Basic @Raw
+	public int getNbElements() {
+		return this.nbElements;
+	}
+
+	/**
+	 * Recompute the number of elements of this primitive binary tree from
+	 * the cached number of elements of its subtrees.
+	 *
+	 * @post   The number of elements of this primitive binary tree is one
+	 *         more than the number of elements in its effective subtrees.
+	 *       | new.getNbElements() == 1 +
+	 *       |   (getLeftTree() == null ? 0 : getLeftTree().getNbElements()) +
+	 *       |   (getRightTree() == null ? 0 : getRightTree().getNbElements())
+	 */
+	@Raw
+	protected final void updateNbElements() {
+		int nbElements = 1;
+		if (getLeftTree() != null)
+			nbElements += getLeftTree().getNbElements();
+		if (getRightTree() != null)
+			nbElements += getRightTree().getNbElements();
+		this.nbElements = nbElements;
+	}
+
+	/**
+	 * Variable registering the number of elements in this primitive
+	 * binary tree.
+	 */
+	private int nbElements;
+
+	/**
+	 * Return the value stored in the root of this primitive binary tree,
+	 * boxed into an object.
+	 *
+	 * @return The null reference if this primitive binary tree is empty.
+	 *       | if (isEmpty())
+	 *       |   then result == null
+	 */
+	@Raw
+	protected Object getBoxedRootElement() {
+		return null;
+	}
+
+	/**
+	 * Return the left subtree of this primitive binary tree.
+	 *
+	 * @return The null reference if this primitive binary tree is empty.
+	 *       | if (isEmpty())
+	 *       |   then result == null
+	 */
+	@Raw
+	protected PrimitiveBinaryTree getLeftTree() {
+		return null;
+	}
+
+	/**
+	 * Return the right subtree of this primitive binary tree.
+	 *
+	 * @return The null reference if this primitive binary tree is empty.
+	 *       | if (isEmpty())
+	 *       |   then result == null
+	 */
+	@Raw
+	protected PrimitiveBinaryTree getRightTree() {
+		return null;
+	}
+
+	/**
+	 * Check whether this primitive binary tree can have the given
+	 * primitive binary tree as its left subtree.
+	 *
+	 * @param  tree
+	 *         The tree to check.
+	 * @return False if the given tree is not effective, if it is the same
+	 *         as this primitive binary tree, or if it has this tree as
+	 *         a direct or indirect subtree.
+	 *       | if ( (tree == null) || (tree == this) ||
+	 *       |      tree.hasAsSubTree(this) )
+	 *       |   then result == false
+	 */
+	@Raw
+	protected boolean canHaveAsLeftTree(PrimitiveBinaryTree tree) {
+		return (tree != null) && (tree != this) && (!hasAsAncestor(tree));
+	}
+
+	/**
+	 * Check whether this primitive binary tree can have the given
+	 * primitive binary tree as its right subtree.
+	 *
+	 * @param  tree
+	 *         The tree to check.
+	 * @return False if the given tree is not effective, if it is the same
+	 *         as this primitive binary tree, or if it has this tree as
+	 *         a direct or indirect subtree.
+	 *       | if ( (tree == null) || (tree == this) ||
+	 *       |      tree.hasAsSubTree(this) )
+	 *       |   then result == false
+	 */
+	@Raw
+	protected boolean canHaveAsRightTree(PrimitiveBinaryTree tree) {
+		return (tree != null) && (tree != this) && (!hasAsAncestor(tree));
+	}
+
+	/**
+	 * Check whether this primitive binary tree can have the given trees as
+	 * its left subtree, respectively as its right subtree.
+	 *
+	 * @return False if this primitive binary tree cannot have the given
+	 *         left tree as its left subtree, or the given right tree as its
+	 *         right subtree.
+	 *       | if (! canHaveAsLeftTree(left) || ! canHaveAsRightTree(right))
+	 *       |   then result == false
+	 */
+	@Raw
+	protected boolean canHaveAsSubTrees(PrimitiveBinaryTree left,
+			PrimitiveBinaryTree right) {
+		return canHaveAsLeftTree(left) && canHaveAsRightTree(right);
+	}
+
+	/**
+	 * Check whether this primitive binary tree has the given tree as a
+	 * direct or indirect subtree.
+	 */
+	@Override
+	@Raw
+	protected boolean hasAsSubTree(BinaryTree tree) {
+		for (Iterator<PrimitiveBinaryTree> nodes = nodeIterator(Order.PRE_ORDER);
+				nodes.hasNext();) {
+			PrimitiveBinaryTree node = nodes.next();
+			if ((node.getLeftTree() == tree) || (node.getRightTree() == tree))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Return the primitive binary tree that has this primitive binary tree
+	 * as its left subtree or as its right subtree.
+	 *
+	 * @return The null reference if this primitive binary tree is not a
+	 *         subtree of any other tree.
+	 */
+	@Basic @Raw
+	protected PrimitiveBinaryTree getParentTree() {
+		return this.parentTree;
+	}
+
+	/**
+	 * Check whether the given tree is a direct or indirect parent of this
+	 * primitive binary tree.
+	 *
+	 * @param  tree
+	 *         The tree to check.
+	 * @return True if and only if the given tree is the parent tree of this
+	 *         primitive binary tree, or an ancestor of that parent tree.
+	 *       | result ==
+	 *       |   (getParentTree() != null) &&
+	 *       |   ( (getParentTree() == tree) ||
+	 *       |     getParentTree().hasAsAncestor(tree) )
+	 */
+	@Raw
+	protected boolean hasAsAncestor(BinaryTree tree) {
+		for (PrimitiveBinaryTree ancestor = getParentTree(); ancestor != null;
+				ancestor = ancestor.getParentTree())
+			if (ancestor == tree)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Register this primitive binary tree as the parent tree of the given
+	 * subtree.
+	 *
+	 * @param  tree
+	 *         The subtree to attach.
+	 * @post   If the given tree is not empty, this primitive binary tree is
+	 *         its parent tree.
+	 *       | if (! tree.isEmpty())
+	 *       |   then (new tree).getParentTree() == this
+	 * @note   Empty trees are shared prototypes, and never get a parent.
+	 */
+	@Raw
+	protected final void attachSubTree(PrimitiveBinaryTree tree) {
+		if ((tree != null) && (!tree.isEmpty()))
+			tree.parentTree = this;
+	}
+
+	/**
+	 * Unregister this primitive binary tree as the parent tree of the given
+	 * subtree.
+	 *
+	 * @param  tree
+	 *         The subtree to detach.
+	 * @post   If the given tree has this primitive binary tree as its
+	 *         parent tree, it no longer has a parent tree.
+	 *       | if (tree.getParentTree() == this)
+	 *       |   then (new tree).getParentTree() == null
+	 */
+	@Raw
+	protected final void detachSubTree(PrimitiveBinaryTree tree) {
+		if ((tree != null) && (tree.parentTree == this))
+			tree.parentTree = null;
+	}
+
+	/**
+	 * Variable referencing the parent tree of this primitive binary tree.
+	 */
+	private PrimitiveBinaryTree parentTree;
+
+	/**
+	 * Return an iterator returning all the elements of this primitive
+	 * binary tree in in-order.
+	 *
+	 * @note   The values of this primitive binary tree are boxed one at a
+	 *         time. Subclasses offer iterators that avoid boxing.
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return elementIterator(Order.IN_ORDER);
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this primitive
+	 * binary tree in pre-order.
+	 */
+	@Override
+	public Iterator<Object> preOrderIterator() {
+		return elementIterator(Order.PRE_ORDER);
+	}
+
+	/**
+	 * Return an iterator returning all the elements of this primitive
+	 * binary tree in level-order.
+	 */
+	@Override
+	public Iterator<Object> levelOrderIterator() {
+		return elementIterator(Order.LEVEL_ORDER);
+	}
+
+	/**
+	 * Return a spliterator over all the elements of this primitive binary
+	 * tree.
+	 */
+	@Override
+	public Spliterator<Object> spliterator() {
+		return Spliterators.spliterator(iterator(), getNbElements(),
+				Spliterator.ORDERED);
+	}
+
+	/**
+	 * Return an iterator returning the boxed root elements of all the
+	 * non-empty nodes of this primitive binary tree in the given order.
+	 */
+	private Iterator<Object> elementIterator(Order order) {
+		Iterator<PrimitiveBinaryTree> nodes = nodeIterator(order);
+		return new Iterator<Object>() {
+
+			@Override
+			public boolean hasNext() {
+				return nodes.hasNext();
+			}
+
+			@Override
+			public Object next() {
+				return nodes.next().getBoxedRootElement();
+			}
+
+		};
+	}
+
+	/**
+	 * Return an iterator returning all the non-empty nodes of this
+	 * primitive binary tree in the given order.
+	 *
+	 * @param  order
+	 *         The order in which the nodes must be returned.
+	 * @note   The resulting iterator does not use recursion. The amount of
+	 *         memory it uses is proportional to the height of this tree
+	 *         for in-order and pre-order, and to its width for level-order.
+	 */
+	Iterator<PrimitiveBinaryTree> nodeIterator(Order order) {
+		return new NodeIterator(this, order);
+	}
+
+	/**
+	 * An enumeration of the orders in which nodes can be traversed.
+	 */
+	enum Order {
+		IN_ORDER, PRE_ORDER, LEVEL_ORDER
+	}
+
+	/**
+	 * A class of iterators over the non-empty nodes of a primitive binary
+	 * tree.
+	 */
+	private static final class NodeIterator implements Iterator<PrimitiveBinaryTree> {
+
+		private NodeIterator(PrimitiveBinaryTree tree, Order order) {
+			this.order = order;
+			if (order == Order.IN_ORDER)
+				pushLeftPath(tree);
+			else if (isNode(tree))
+				pending.add(tree);
+		}
+
+		private final Order order;
+
+		private final Deque<PrimitiveBinaryTree> pending = new ArrayDeque<PrimitiveBinaryTree>();
+
+		@Override
+		public boolean hasNext() {
+			return !pending.isEmpty();
+		}
+
+		@Override
+		public PrimitiveBinaryTree next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			PrimitiveBinaryTree node = pending.removeFirst();
+			switch (order) {
+			case IN_ORDER:
+				pushLeftPath(node.getRightTree());
+				break;
+			case PRE_ORDER:
+				if (isNode(node.getRightTree()))
+					pending.addFirst(node.getRightTree());
+				if (isNode(node.getLeftTree()))
+					pending.addFirst(node.getLeftTree());
+				break;
+			case LEVEL_ORDER:
+				if (isNode(node.getLeftTree()))
+					pending.addLast(node.getLeftTree());
+				if (isNode(node.getRightTree()))
+					pending.addLast(node.getRightTree());
+				break;
+			}
+			return node;
+		}
+
+		private void pushLeftPath(PrimitiveBinaryTree tree) {
+			while (isNode(tree)) {
+				pending.addFirst(tree);
+				tree = tree.getLeftTree();
+			}
+		}
+
+		private static boolean isNode(PrimitiveBinaryTree tree) {
+			return (tree != null) && (!tree.isEmpty());
+		}
+
+	}
+
+}
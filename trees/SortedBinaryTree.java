@@ -0,0 +1,134 @@
+package trees;
+
+import java.util.Arrays;
+import java.util.List;
+
+import be.kuleuven.cs.som.annotate.*;
+import trees.exceptions.*;
+
+/**
+ * An interface of sorted binary trees for storing comparable objects.
+ *		The elements in the left subtree of each node in a sorted binary tree
+ *		are not above the element in that node, and the elements in its right
+ *		subtree are not below that element. Two elements are considered to be
+ *		the same element if they compare equal.
+ *		Sorted binary trees are balanced: the heights of both subtrees of each
+ *		node differ at most by one.
+ *
+ * @invar   The height of each sorted binary tree is logarithmic in its
+ *          number of elements.
+ *        | getHeight() <= 1.45 * log2(getNbElements() + 2)
+ *
+ * @version 2.0
+ * @author  Eric Steegmans
+ */
+public interface SortedBinaryTree {
+
+	/**
+	 * Return a perfectly balanced sorted binary tree storing the given
+	 * elements.
+	 *
+	 * @param  elements
+	 *         The elements to be stored in the resulting tree.
+	 * @return An empty sorted binary tree if no elements are given, a
+	 *         sorted binary leaf tree if a single element is given, and a
+	 *         composed sorted binary tree otherwise.
+	 * @throws IllegalElementException
+	 *         Some of the given elements are not comparable, or cannot be
+	 *         compared with the first given element.
+	 * @note   If the given elements are already sorted, the tree is built
+	 *         in linear time. Otherwise, a sorted copy of them is made first.
+	 */
+	public static BinaryTree fromElements(Object... elements)
+			throws IllegalElementException {
+		for (Object element : elements)
+			if (!ComposedSortedBinaryTree.canBeCompared(element, elements[0]))
+				throw new IllegalElementException(element,
+						EmptySortedBinaryTree.getPrototype());
+		for (int i = 1; i < elements.length; i++)
+			if (ComposedSortedBinaryTree.compare(elements[i - 1], elements[i]) > 0) {
+				elements = elements.clone();
+				Arrays.sort(elements);
+				break;
+			}
+		return BalancedTreeBuilder.build(elements, true);
+	}
+
+	/**
+	 * Return the height of this sorted binary tree.
+	 *		The height of a sorted binary tree is the number of nodes
+	 *		on its longest path from its root to one of its leaves.
+	 */
+	@Basic @Raw
+	public int getHeight();
+
+	/**
+	 * Return the smallest element in this sorted binary tree.
+	 *
+	 * @return The null reference if this sorted binary tree is empty;
+	 *         otherwise an element of this sorted binary tree that is not
+	 *         above any other of its elements.
+	 */
+	public Object getMinimum();
+
+	/**
+	 * Return the largest element in this sorted binary tree.
+	 *
+	 * @return The null reference if this sorted binary tree is empty;
+	 *         otherwise an element of this sorted binary tree that is not
+	 *         below any other of its elements.
+	 */
+	public Object getMaximum();
+
+	/**
+	 * Return the largest element in this sorted binary tree that is not
+	 * above the given element.
+	 *
+	 * @param  element
+	 *         The element to compare with.
+	 * @return The null reference if all elements of this sorted binary
+	 *         tree are above the given element, or if this tree cannot have
+	 *         the given element as one of its elements; otherwise the largest
+	 *         element in this sorted binary tree not above the given element.
+	 */
+	public Object getFloor(Object element);
+
+	/**
+	 * Return the smallest element in this sorted binary tree that is not
+	 * below the given element.
+	 *
+	 * @param  element
+	 *         The element to compare with.
+	 * @return The null reference if all elements of this sorted binary
+	 *         tree are below the given element, or if this tree cannot have
+	 *         the given element as one of its elements; otherwise the smallest
+	 *         element in this sorted binary tree not below the given element.
+	 */
+	public Object getCeiling(Object element);
+
+	/**
+	 * Return the number of elements in this sorted binary tree that are
+	 * below the given element.
+	 *
+	 * @param  element
+	 *         The element to compare with.
+	 * @return Zero if this sorted binary tree cannot have the given element
+	 *         as one of its elements.
+	 */
+	public int getRank(Object element);
+
+	/**
+	 * Return a list of all the elements in this sorted binary tree that are
+	 * not below the given lower bound and not above the given upper bound.
+	 *
+	 * @param  low
+	 *         The lower bound of the range.
+	 * @param  high
+	 *         The upper bound of the range.
+	 * @return The elements in the resulting list are sorted in ascending
+	 *         order. The list is empty if this sorted binary tree cannot
+	 *         have one of the given bounds as one of its elements.
+	 */
+	public List<Object> getElementsBetween(Object low, Object high);
+
+}
@@ -31,6 +31,34 @@ public class IllegalElementException extends RuntimeException {
 		this.binaryTree = binaryTree;
 	}
 
+	/**
+	 * Initialize this new illegal element exception with given element
+	 * and given binary tree, without a stack trace if so requested.
+	 *
+	 * @param   element
+	 *          The element for this new illegal element exception.
+	 * @param   binaryTree
+	 *          The binary tree for this new illegal element exception.
+	 * @param   writableStackTrace
+	 *          True if the stack trace of this new illegal element
+	 *          exception must be filled in.
+	 * @post    The element for this new illegal element exception
+	 *          is equal to the given element.
+	 *          | new.getElement() == element
+	 * @post    The binary tree for this new illegal element exception
+	 *          is equal to the given binary tree.
+	 *          | new.getBinaryTree() == binaryTree
+	 * @note    Illegal element exceptions signalling elements that are not
+	 *          found are created without a stack trace, such that misses
+	 *          in deep trees do not pay for a walk of the stack.
+	 */
+	public IllegalElementException(Object element, BinaryTree binaryTree,
+			boolean writableStackTrace) {
+		super(null, null, false, writableStackTrace);
+		this.element = element;
+		this.binaryTree = binaryTree;
+	}
+
 	/**
 	 * Return the element of this illegal element exception exception.
 	 */